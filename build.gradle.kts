@@ -11,6 +11,17 @@ repositories {
 }
 
 dependencies {
-    implementation("com.oracle.database.jdbc:ojdbc17:23.7.0.25.01")
+    runtimeOnly("com.oracle.database.jdbc:ojdbc17:23.7.0.25.01")
+    runtimeOnly("com.h2database:h2:2.3.232")
     implementation("com.formdev:flatlaf:3.6")
+
+    annotationProcessor(project(":processor"))
+
+    testImplementation(platform("org.junit:junit-bom:5.11.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
\ No newline at end of file
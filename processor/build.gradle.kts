@@ -0,0 +1,7 @@
+plugins {
+    java
+}
+
+repositories {
+    mavenCentral()
+}
\ No newline at end of file
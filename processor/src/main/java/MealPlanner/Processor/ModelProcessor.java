@@ -0,0 +1,213 @@
+package MealPlanner.Processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates a {@code MealPlanner.Models.ModelMapper} implementation for every concrete subclass of
+ * {@code MealPlanner.Models.Model}, with the SQL statements, constructor call, field accessors and row mapping of the
+ * model class written out as plain code; the generated mapper is named after the model class with a {@code Mapper}
+ * suffix and placed in the same package
+ * <p>
+ * The columns, primary keys and SQL statements follow the same rules as {@code MealPlanner.Models.ModelMetadata}:
+ * columns are the public instance fields not annotated with {@code @Ignore}, in declaration order (superclass fields
+ * first), and the table name is the constant value of the {@code TABLE} field.
+ */
+@SupportedAnnotationTypes("*")
+public class ModelProcessor extends AbstractProcessor {
+    private static final String MODEL_CLASS = "MealPlanner.Models.Model";
+    private static final String ANNOTATIONS_PACKAGE = "MealPlanner.Models.Annotations";
+
+    private static class Column {
+        final String name;
+        final String type;
+        final boolean primaryKey;
+
+        Column(String name, String type, boolean primaryKey) {
+            this.name = name;
+            this.type = type;
+            this.primaryKey = primaryKey;
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement modelElement = processingEnv.getElementUtils().getTypeElement(MODEL_CLASS);
+        if (modelElement == null) {
+            return false;
+        }
+
+        for (TypeElement typeElement : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            if (typeElement.getModifiers().contains(Modifier.ABSTRACT)
+                    || !processingEnv.getTypeUtils().isSubtype(typeElement.asType(), modelElement.asType())
+                    || typeElement.equals(modelElement)) {
+                continue;
+            }
+            try {
+                generateMapper(typeElement, modelElement);
+            } catch (IOException exception) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Failed to generate a mapper: %s".formatted(exception), typeElement);
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasAnnotation(Element element, String simpleName) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            TypeElement annotationElement = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            if (annotationElement.getQualifiedName().contentEquals(ANNOTATIONS_PACKAGE + "." + simpleName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gathers the columns of a model class and its superclasses up to {@code Model}, superclass fields first
+     */
+    private void gatherColumns(TypeElement typeElement, TypeElement modelElement, List<Column> columns) {
+        TypeMirror superclass = typeElement.getSuperclass();
+        if (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement superElement = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (!superElement.equals(modelElement)) {
+                gatherColumns(superElement, modelElement, columns);
+            }
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC) || hasAnnotation(field, "Ignore")) {
+                continue;
+            }
+            TypeMirror type = processingEnv.getTypeUtils().erasure(field.asType());
+            columns.add(new Column(field.getSimpleName().toString(), type.toString(), hasAnnotation(field, "PrimaryKey")));
+        }
+    }
+
+    private static String joinColumns(List<Column> columns, String format, String separator) {
+        StringBuilder builder = new StringBuilder();
+        for (Column column : columns) {
+            if (!builder.isEmpty()) {
+                builder.append(separator);
+            }
+            builder.append(format.formatted(column.name));
+        }
+        return builder.toString();
+    }
+
+    private static String literal(String value) {
+        if (value == null) {
+            return "null";
+        }
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private void generateMapper(TypeElement typeElement, TypeElement modelElement) throws IOException {
+        String table = null;
+        for (VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+            if (field.getSimpleName().contentEquals("TABLE") && field.getConstantValue() instanceof String) {
+                table = (String) field.getConstantValue();
+            }
+        }
+        if (table == null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "No constant TABLE field, skipping mapper generation", typeElement);
+            return;
+        }
+
+        ArrayList<Column> columns = new ArrayList<>();
+        gatherColumns(typeElement, modelElement, columns);
+        ArrayList<Column> primaryKeys = new ArrayList<>();
+        ArrayList<Column> nonKeyColumns = new ArrayList<>();
+        for (Column column : columns) {
+            (column.primaryKey ? primaryKeys : nonKeyColumns).add(column);
+        }
+
+        String primaryKeyWhereClause = primaryKeys.isEmpty() ? null : " WHERE %s".formatted(joinColumns(primaryKeys, "%s = ?", " AND "));
+        String selectSql = "SELECT * FROM %s".formatted(table);
+        String insertSql = nonKeyColumns.isEmpty() ? null : "INSERT INTO %s (%s) VALUES (%s)".formatted(table,
+                joinColumns(nonKeyColumns, "%s", ", "), joinColumns(nonKeyColumns, "?", ", "));
+        String insertWithKeysSql = columns.isEmpty() ? null : "INSERT INTO %s (%s) VALUES (%s)".formatted(table,
+                joinColumns(columns, "%s", ", "), joinColumns(columns, "?", ", "));
+        String updateSql = nonKeyColumns.isEmpty() || primaryKeyWhereClause == null ? null : "UPDATE %s SET %s%s".formatted(table,
+                joinColumns(nonKeyColumns, "%s = ?", ", "), primaryKeyWhereClause);
+        String deleteSql = primaryKeyWhereClause == null ? null : "DELETE FROM %s%s".formatted(table, primaryKeyWhereClause);
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(typeElement).getQualifiedName().toString();
+        String modelName = typeElement.getSimpleName().toString();
+        String mapperName = modelName + "Mapper";
+
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName).append(";\n\n");
+        source.append("@javax.annotation.processing.Generated(\"").append(ModelProcessor.class.getName()).append("\")\n");
+        source.append("public final class ").append(mapperName).append(" implements MealPlanner.Models.ModelMapper<")
+                .append(modelName).append("> {\n");
+
+        source.append("    private static final String[] COLUMN_NAMES = {").append(joinColumns(columns, "\"%s\"", ", ")).append("};\n\n");
+        String[][] sqlMethods = {
+                {"getSelectSql", selectSql}, {"getInsertSql", insertSql}, {"getInsertWithKeysSql", insertWithKeysSql},
+                {"getUpdateSql", updateSql}, {"getDeleteSql", deleteSql}
+        };
+
+        source.append("    @Override\n    public String[] getColumnNames() {\n        return COLUMN_NAMES.clone();\n    }\n\n");
+        for (String[] sqlMethod : sqlMethods) {
+            source.append("    @Override\n    public String ").append(sqlMethod[0]).append("() {\n        return ")
+                    .append(literal(sqlMethod[1])).append(";\n    }\n\n");
+        }
+        source.append("    @Override\n    public ").append(modelName).append(" newInstance() {\n        return new ")
+                .append(modelName).append("();\n    }\n\n");
+
+        source.append("    @Override\n    public Object get(").append(modelName).append(" model, int index) {\n");
+        source.append("        return switch (index) {\n");
+        for (int index = 0; index < columns.size(); index++) {
+            source.append("            case ").append(index).append(" -> model.").append(columns.get(index).name).append(";\n");
+        }
+        source.append("            default -> throw new IndexOutOfBoundsException(index);\n        };\n    }\n\n");
+
+        source.append("    @Override\n    public void set(").append(modelName).append(" model, int index, Object value) {\n");
+        source.append("        switch (index) {\n");
+        for (int index = 0; index < columns.size(); index++) {
+            Column column = columns.get(index);
+            source.append("            case ").append(index).append(" -> model.").append(column.name)
+                    .append(" = (").append(column.type).append(") value;\n");
+        }
+        source.append("            default -> throw new IndexOutOfBoundsException(index);\n        }\n    }\n\n");
+
+        source.append("    @Override\n    public ").append(modelName)
+                .append(" map(java.sql.ResultSet resultSet, int[] columnIndexes) throws java.sql.SQLException {\n");
+        source.append("        ").append(modelName).append(" model = new ").append(modelName).append("();\n");
+        for (int index = 0; index < columns.size(); index++) {
+            Column column = columns.get(index);
+            String getter = switch (column.type) {
+                case "java.lang.String" -> "resultSet.getString(columnIndexes[%d])";
+                case "java.lang.Number" -> "resultSet.getBigDecimal(columnIndexes[%d])";
+                // JDBC tries to return Timestamp for the Date class, causing errors
+                case "java.sql.Date" -> "resultSet.getDate(columnIndexes[%d])";
+                default -> "(" + column.type + ") resultSet.getObject(columnIndexes[%d])";
+            };
+            source.append("        model.").append(column.name).append(" = ").append(getter.formatted(index)).append(";\n");
+        }
+        source.append("        return model;\n    }\n}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(packageName + "." + mapperName, typeElement).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+}
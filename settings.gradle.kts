@@ -1 +1,3 @@
-rootProject.name = "MealPlanner"
\ No newline at end of file
+rootProject.name = "MealPlanner"
+
+include("processor")
\ No newline at end of file
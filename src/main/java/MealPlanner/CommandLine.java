@@ -0,0 +1,76 @@
+package MealPlanner;
+
+import MealPlanner.Import.FoodItemImporter;
+
+import java.nio.file.Path;
+
+import static MealPlanner.Main.displayErrorDialog;
+
+/**
+ * Runs the maintenance commands given as arguments to {@link Main#main(String[])} without starting the GUI
+ */
+public class CommandLine {
+    private static final String USAGE = """
+            Usage: MealPlanner [<command> <arguments>]
+
+            Without a command, the GUI is started.
+
+            Commands:
+              import-food <file>  Imports food items from a .csv, .json, .jsonl or .ndjson file, skipping duplicates
+                                  and invalid records
+              backup <file>       Writes every table to a compressed backup file
+              restore <file>      Replaces the contents of every table with those of a backup file""";
+
+    /**
+     * @param args The command and its arguments
+     * @return The exit status: {@code 0} if the command succeeded, {@code 1} if it failed, or {@code 2} if the
+     * arguments are invalid
+     */
+    public static int run(String[] args) {
+        switch (args[0]) {
+            case "import-food" -> {
+                if (args.length != 2) {
+                    break;
+                }
+                return connect() ? importFood(Path.of(args[1])) : 1;
+            }
+            case "backup", "restore" -> {
+                if (args.length != 2) {
+                    break;
+                }
+                if (!connect()) {
+                    return 1;
+                }
+                try {
+                    Path path = Path.of(args[1]);
+                    return (args[0].equals("backup") ? DatabaseArchive.backup(path) : DatabaseArchive.restore(path)) ? 0 : 1;
+                } finally {
+                    DatabaseHelper.disconnect();
+                }
+            }
+            case "help", "-h", "--help" -> {
+                System.out.println(USAGE);
+                return 0;
+            }
+        }
+        displayErrorDialog("Invalid command!\n\n%s", USAGE);
+        return 2;
+    }
+
+    private static boolean connect() {
+        return DatabaseHelper.connect() && DatabaseHelper.setup();
+    }
+
+    private static int importFood(Path path) {
+        try {
+            FoodItemImporter.Result result = new FoodItemImporter().importFile(path);
+            if (result == null) {
+                return 1;
+            }
+            System.out.println(result);
+            return 0;
+        } finally {
+            DatabaseHelper.disconnect();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package MealPlanner;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded pool of JDBC connections shared by all threads; connections are borrowed per operation with
+ * {@link #borrow()} and returned by closing the {@link PooledConnection}
+ * <p>
+ * Connections idle for longer than {@link #validationIntervalMillis} are validated with
+ * {@link Connection#isValid(int)} before being handed out again, and connections idle for longer than
+ * {@link #idleTimeoutMillis} are closed by a background task, down to {@link #minSize} connections.
+ */
+public class ConnectionPool {
+    private final String url;
+    private final Properties credentials;
+
+    private final int minSize;
+    private final int maxSize;
+    private final int validationTimeoutSeconds;
+    private final long validationIntervalMillis;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+    private final int statementCacheSize;
+
+    /**
+     * Idle connections, most recently returned last
+     */
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+    /**
+     * Number of open connections, idle or borrowed (including connections being opened)
+     */
+    private int size = 0;
+    private boolean closed = false;
+
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * @param url                      JDBC URL of the database; see {@link DriverManager#getConnection(String, Properties)}
+     * @param credentials              Connection properties (e.g., {@code user} and {@code password})
+     * @param minSize                  Number of connections opened by {@link #warmUp()} and kept open when idle
+     * @param maxSize                  Maximum number of open connections
+     * @param validationTimeoutSeconds Timeout of the validation of an idle connection; see {@link Connection#isValid(int)}
+     * @param validationIntervalMillis Idle time after which a connection is validated before being borrowed
+     * @param idleTimeoutMillis        Idle time after which a connection beyond the minimum is closed
+     * @param borrowTimeoutMillis      Maximum time to wait for a connection when all the connections are borrowed
+     * @param statementCacheSize       Number of idle prepared statements cached per connection; see {@link StatementCache}
+     */
+    public ConnectionPool(String url, Properties credentials, int minSize, int maxSize, int validationTimeoutSeconds,
+                          long validationIntervalMillis, long idleTimeoutMillis, long borrowTimeoutMillis,
+                          int statementCacheSize) {
+        this.url = url;
+        this.credentials = credentials;
+        this.maxSize = Math.max(maxSize, 1);
+        this.minSize = Math.min(Math.max(minSize, 0), this.maxSize);
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.validationIntervalMillis = validationIntervalMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.statementCacheSize = statementCacheSize;
+
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ConnectionPool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long evictionInterval = Math.max(idleTimeoutMillis / 2, 1000);
+        evictor.scheduleWithFixedDelay(this::evictIdle, evictionInterval, evictionInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens connections up to {@link #minSize}, so the first operations do not pay for connecting
+     *
+     * @throws SQLException If a connection could not be opened (e.g., {@link SQLTimeoutException})
+     */
+    public void warmUp() throws SQLException {
+        while (true) {
+            synchronized (this) {
+                if (closed || size >= minSize) {
+                    return;
+                }
+                size++;
+            }
+            PooledConnection pooledConnection = open();
+            synchronized (this) {
+                idle.addLast(pooledConnection);
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Opens a new connection; the caller must have already counted it in {@link #size}
+     */
+    private PooledConnection open() throws SQLException {
+        try {
+            return new PooledConnection(this, DriverManager.getConnection(url, credentials), statementCacheSize);
+        } catch (SQLException | RuntimeException exception) {
+            synchronized (this) {
+                size--;
+                notifyAll();
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Borrows an idle connection, opening a new one if none is idle and fewer than {@link #maxSize} are open, or
+     * waiting for one to be returned otherwise
+     *
+     * @return The borrowed connection; must be closed to return it to the pool
+     * @throws SQLException If the pool is closed, if no connection was returned within {@link #borrowTimeoutMillis},
+     *                      or if a new connection could not be opened
+     */
+    public PooledConnection borrow() throws SQLException {
+        long deadline = System.currentTimeMillis() + borrowTimeoutMillis;
+        while (true) {
+            PooledConnection pooledConnection;
+            synchronized (this) {
+                while (true) {
+                    if (closed) {
+                        throw new SQLException("The connection pool is closed!");
+                    }
+                    pooledConnection = idle.pollLast();
+                    if (pooledConnection != null) {
+                        break;
+                    }
+                    if (size < maxSize) {
+                        size++;
+                        break;
+                    }
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new SQLTimeoutException("Timed out after %d ms waiting for a database connection!".formatted(borrowTimeoutMillis));
+                    }
+                    try {
+                        wait(remaining);
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection!", exception);
+                    }
+                }
+            }
+
+            if (pooledConnection == null) {
+                pooledConnection = open();
+                pooledConnection.setBorrowed();
+                return pooledConnection;
+            }
+            if (validate(pooledConnection)) {
+                pooledConnection.setBorrowed();
+                return pooledConnection;
+            }
+            discard(pooledConnection);
+        }
+    }
+
+    /**
+     * @return Whether a connection taken from the idle connections is still usable
+     */
+    private boolean validate(PooledConnection pooledConnection) {
+        long now = System.currentTimeMillis();
+        if (now - pooledConnection.lastUsed < validationIntervalMillis) {
+            return true;
+        }
+        try {
+            if (pooledConnection.connection.isValid(validationTimeoutSeconds)) {
+                pooledConnection.lastUsed = now;
+                return true;
+            }
+        } catch (SQLException ignored) {
+        }
+        return false;
+    }
+
+    /**
+     * Closes a connection that was removed from the pool
+     */
+    private void discard(PooledConnection pooledConnection) {
+        synchronized (this) {
+            size--;
+            notifyAll();
+        }
+        pooledConnection.statementCache.close();
+        try {
+            pooledConnection.connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    /**
+     * Returns a borrowed connection to the pool; see {@link PooledConnection#close()}
+     */
+    void release(PooledConnection pooledConnection) {
+        boolean usable;
+        try {
+            usable = !closed && !pooledConnection.connection.isClosed();
+            if (usable && !pooledConnection.connection.getAutoCommit()) {
+                pooledConnection.connection.rollback(); // do not leak an unfinished transaction to the next borrower
+                pooledConnection.connection.setAutoCommit(true);
+            }
+        } catch (SQLException exception) {
+            usable = false;
+        }
+        if (!usable) {
+            discard(pooledConnection);
+            return;
+        }
+
+        pooledConnection.lastUsed = System.currentTimeMillis();
+        synchronized (this) {
+            idle.addLast(pooledConnection);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Closes connections idle for longer than {@link #idleTimeoutMillis}, keeping at least {@link #minSize} open
+     */
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        ArrayDeque<PooledConnection> evicted = new ArrayDeque<>();
+        synchronized (this) {
+            Iterator<PooledConnection> iterator = idle.iterator(); // least recently returned first
+            while (iterator.hasNext() && size - evicted.size() > minSize) {
+                PooledConnection pooledConnection = iterator.next();
+                if (now - pooledConnection.lastUsed < idleTimeoutMillis) {
+                    break;
+                }
+                iterator.remove();
+                evicted.add(pooledConnection);
+            }
+        }
+        for (PooledConnection pooledConnection : evicted) {
+            discard(pooledConnection);
+        }
+    }
+
+    /**
+     * @return The number of open connections, idle or borrowed
+     */
+    public synchronized int getSize() {
+        return size;
+    }
+
+    /**
+     * @return The number of idle connections
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Closes all idle connections and stops handing out connections; borrowed connections are closed when returned
+     */
+    public void close() {
+        evictor.shutdownNow();
+        ArrayDeque<PooledConnection> closing;
+        synchronized (this) {
+            closed = true;
+            closing = new ArrayDeque<>(idle);
+            idle.clear();
+            notifyAll();
+        }
+        for (PooledConnection pooledConnection : closing) {
+            discard(pooledConnection);
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package MealPlanner;
+
+import MealPlanner.Dialects.Dialect;
+import MealPlanner.Models.*;
+import MealPlanner.Models.ModelMetadata.Column;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static MealPlanner.Main.displayErrorDialog;
+
+/**
+ * Backs up the rows of every model table to a GZIP-compressed binary archive, and restores them from it, streaming
+ * the rows one at a time in both directions so memory use does not depend on the size of the database
+ * <p>
+ * The archive starts with a header ({@link #MAGIC}, {@link #FORMAT_VERSION}, the schema version of
+ * {@link SchemaMigrator#getLatestVersion()} and the time of the backup), followed by one section per table: the table
+ * name and its column names, then each row prefixed by a {@code 1} byte, and a {@code 0} byte after the last row; a
+ * {@code 0} byte after the last section ends the archive. Strings are UTF-8 and numbers unscaled two's-complement
+ * bytes with a scale, both prefixed by their length ({@code -1} for {@code null}); dates are epoch days prefixed by a
+ * {@code null} flag.
+ */
+public class DatabaseArchive {
+    public static final int MAGIC = 0x4D504241; // "MPBA"
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * The model classes of the tables in the archive, in the order they are restored (referenced tables first)
+     */
+    private static final List<Class<? extends Model>> MODELS = List.of(FoodItem.class, Recipe.class,
+            RecipeIngredient.class, RecipeInstruction.class, MealPlan.class, Meal.class, FridgeItem.class);
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Writes every row of the model tables to the archive file within a single serializable transaction, so the
+     * archive is a consistent snapshot; the archive is written to a temporary file first, which replaces the archive
+     * file once complete
+     * <p>
+     * In case of SQL or I/O exceptions, an appropriate error dialog is displayed, and the method will return
+     * {@code false}.
+     *
+     * @param path The archive file to write
+     * @return {@code true} if the backup succeeded; {@code false} otherwise.
+     */
+    public static boolean backup(Path path) {
+        long start = System.nanoTime();
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        LinkedHashMap<String, Long> counts = new LinkedHashMap<>();
+        try (PooledConnection connection = DatabaseHelper.getConnection()) {
+            Connection jdbcConnection = connection.getConnection();
+            int isolation = jdbcConnection.getTransactionIsolation();
+            jdbcConnection.setAutoCommit(false);
+            jdbcConnection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temporaryPath), BUFFER_SIZE), BUFFER_SIZE))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeInt(SchemaMigrator.getLatestVersion());
+                output.writeLong(System.currentTimeMillis());
+                for (Class<? extends Model> modelClass : MODELS) {
+                    ModelMetadata metadata = ModelMetadata.get(modelClass);
+                    if (metadata == null) {
+                        return false;
+                    }
+                    counts.put(metadata.table, backupTable(connection, metadata, output));
+                }
+                output.writeByte(0);
+            } finally {
+                jdbcConnection.commit();
+                jdbcConnection.setTransactionIsolation(isolation);
+            }
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while backing up the database!\n\n%s", exception);
+            return false;
+        } catch (IOException exception) {
+            displayErrorDialog("Encountered an error while writing the backup file %s!\n\n%s", path, exception);
+            return false;
+        } finally {
+            try {
+                Files.deleteIfExists(temporaryPath);
+            } catch (IOException ignored) {
+            }
+        }
+        printCounts("Backed up", counts, start);
+        return true;
+    }
+
+    private static long backupTable(PooledConnection connection, ModelMetadata metadata, DataOutputStream output) throws SQLException, IOException {
+        Column[] columns = metadata.columns;
+        output.writeByte(1);
+        output.writeUTF(metadata.table);
+        output.writeShort(columns.length);
+        for (Column column : columns) {
+            output.writeUTF(column.name);
+        }
+
+        long rows = 0;
+        StringBuilder columnList = new StringBuilder();
+        for (Column column : columns) {
+            if (!columnList.isEmpty()) {
+                columnList.append(", ");
+            }
+            columnList.append(column.name);
+        }
+        try (PreparedStatement statement = DatabaseHelper.prepareStatement(connection,
+                "SELECT %s FROM %s".formatted(columnList, metadata.table))) {
+            statement.setFetchSize(metadata.getFetchSize());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    output.writeByte(1);
+                    for (int index = 0; index < columns.length; index++) {
+                        writeValue(output, columns[index], resultSet, index + 1);
+                    }
+                    rows++;
+                }
+            }
+        }
+        output.writeByte(0);
+        return rows;
+    }
+
+    private static void writeValue(DataOutputStream output, Column column, ResultSet resultSet, int columnIndex) throws SQLException, IOException {
+        switch (column.sqlType) {
+            case Types.VARCHAR -> {
+                String value = resultSet.getString(columnIndex);
+                writeBytes(output, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+            }
+            case Types.NUMERIC -> {
+                BigDecimal value = resultSet.getBigDecimal(columnIndex);
+                writeBytes(output, value == null ? null : value.unscaledValue().toByteArray());
+                if (value != null) {
+                    output.writeInt(value.scale());
+                }
+            }
+            case Types.DATE -> {
+                Date value = resultSet.getDate(columnIndex);
+                output.writeBoolean(value != null);
+                if (value != null) {
+                    output.writeLong(value.toLocalDate().toEpochDay());
+                }
+            }
+            default -> throw new SQLException("Unsupported type of column %s.%s".formatted(
+                    column.field.getDeclaringClass().getSimpleName(), column.name));
+        }
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            output.writeInt(-1);
+            return;
+        }
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Replaces the rows of every model table with the rows of the archive file, inserting them with their original
+     * primary keys in batches of {@link Model#BATCH_SIZE} rows within a single transaction, then resets the identity
+     * columns to continue after the restored keys (see {@link Dialect#getResetIdentitySql(String, String, long)})
+     * <p>
+     * In case of SQL or I/O exceptions, or an archive of another schema version, an appropriate error dialog is
+     * displayed, and the method will return {@code false}; the tables are then left unchanged, unless only the reset
+     * of the identity columns failed, in which case the rows are already restored and the dialog asks to run the
+     * restore again so the identity columns are reset.
+     *
+     * @param path The archive file to read
+     * @return {@code true} if the restore succeeded; {@code false} otherwise.
+     */
+    public static boolean restore(Path path) {
+        long start = System.nanoTime();
+        LinkedHashMap<String, Long> counts = new LinkedHashMap<>();
+        LinkedHashMap<ModelMetadata, Long> nextKeys = new LinkedHashMap<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(path), BUFFER_SIZE), BUFFER_SIZE));
+             PooledConnection connection = DatabaseHelper.getConnection()) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                displayErrorDialog("The file %s is not a backup of this application, or is of an unsupported format!", path);
+                return false;
+            }
+            int schemaVersion = input.readInt();
+            if (schemaVersion != SchemaMigrator.getLatestVersion()) {
+                displayErrorDialog("The backup file %s is of schema version %d, but the database is at version %d!",
+                        path, schemaVersion, SchemaMigrator.getLatestVersion());
+                return false;
+            }
+            input.readLong(); // the time of the backup
+
+            connection.getConnection().setAutoCommit(false);
+            for (int index = MODELS.size() - 1; index >= 0; index--) {
+                ModelMetadata metadata = ModelMetadata.get(MODELS.get(index));
+                if (metadata == null) {
+                    return false;
+                }
+                try (PreparedStatement statement = DatabaseHelper.prepareStatement(connection,
+                        "DELETE FROM %s".formatted(metadata.table))) {
+                    statement.executeUpdate();
+                }
+            }
+            while (input.readByte() != 0) {
+                ModelMetadata metadata = restoreTable(connection, input, counts, nextKeys);
+                if (metadata == null) {
+                    return false;
+                }
+            }
+            connection.getConnection().commit();
+            connection.getConnection().setAutoCommit(true);
+
+            Dialect dialect = DatabaseHelper.getDialect();
+            try (Statement statement = connection.getConnection().createStatement()) {
+                for (Map.Entry<ModelMetadata, Long> entry : nextKeys.entrySet()) {
+                    statement.executeUpdate(dialect.getResetIdentitySql(entry.getKey().table,
+                            entry.getKey().primaryKeys[0].name, entry.getValue()));
+                }
+            } catch (SQLException exception) {
+                printCounts("Restored", counts, start);
+                displayErrorDialog("The rows of the backup file %s were restored, but encountered an error while resetting "
+                        + "the identity columns, so new rows may conflict with the restored keys! Run the restore again "
+                        + "to reset them.\n\n%s", path, exception);
+                return false;
+            }
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while restoring the database!\n\n%s", exception);
+            return false;
+        } catch (IOException exception) {
+            displayErrorDialog("Encountered an error while reading the backup file %s!\n\n%s", path, exception);
+            return false;
+        } finally {
+            EntityCache.clear();
+        }
+        printCounts("Restored", counts, start);
+        return true;
+    }
+
+    /**
+     * Inserts the rows of one table section of the archive
+     *
+     * @param nextKeys The next value of the identity column of each restored table with a numeric primary key
+     * @return The metadata of the table, or {@code null} if the archive contains an unknown table or column
+     */
+    private static ModelMetadata restoreTable(PooledConnection connection, DataInputStream input,
+                                              Map<String, Long> counts, Map<ModelMetadata, Long> nextKeys) throws SQLException, IOException {
+        String table = input.readUTF();
+        ModelMetadata metadata = null;
+        for (Class<? extends Model> modelClass : MODELS) {
+            ModelMetadata modelMetadata = ModelMetadata.get(modelClass);
+            if (modelMetadata != null && modelMetadata.table.equals(table)) {
+                metadata = modelMetadata;
+            }
+        }
+        if (metadata == null) {
+            displayErrorDialog("The backup file contains the unknown table %s!", table);
+            return null;
+        }
+
+        Column[] columns = new Column[input.readShort()];
+        StringBuilder columnList = new StringBuilder();
+        StringBuilder parameterList = new StringBuilder();
+        int keyIndex = -1;
+        for (int index = 0; index < columns.length; index++) {
+            String name = input.readUTF();
+            columns[index] = metadata.getColumn(name);
+            if (columns[index] == null) {
+                displayErrorDialog("The backup file contains the unknown column %s.%s!", table, name);
+                return null;
+            }
+            if (metadata.primaryKeys.length == 1 && columns[index] == metadata.primaryKeys[0]
+                    && columns[index].sqlType == Types.NUMERIC) {
+                keyIndex = index;
+            }
+            if (!columnList.isEmpty()) {
+                columnList.append(", ");
+                parameterList.append(", ");
+            }
+            columnList.append(name);
+            parameterList.append('?');
+        }
+        int[] sqlTypes = new int[columns.length];
+        for (int index = 0; index < columns.length; index++) {
+            sqlTypes[index] = columns[index].sqlType;
+        }
+
+        long rows = 0;
+        long nextKey = 1;
+        Object[] values = new Object[columns.length];
+        try (PreparedStatement statement = DatabaseHelper.prepareStatement(connection,
+                "INSERT INTO %s (%s) VALUES (%s)".formatted(table, columnList, parameterList))) {
+            while (input.readByte() != 0) {
+                for (int index = 0; index < columns.length; index++) {
+                    values[index] = readValue(input, columns[index]);
+                }
+                if (keyIndex >= 0 && values[keyIndex] != null) {
+                    nextKey = Math.max(nextKey, ((BigDecimal) values[keyIndex]).longValue() + 1);
+                }
+                DatabaseHelper.setParameters(statement, sqlTypes, values);
+                statement.addBatch();
+                if (++rows % Model.BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+            if (rows % Model.BATCH_SIZE != 0) {
+                statement.executeBatch();
+            }
+        }
+        counts.put(table, rows);
+        if (keyIndex >= 0) {
+            nextKeys.put(metadata, nextKey);
+        }
+        return metadata;
+    }
+
+    private static Object readValue(DataInputStream input, Column column) throws IOException {
+        return switch (column.sqlType) {
+            case Types.VARCHAR -> {
+                byte[] bytes = readBytes(input);
+                yield bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+            }
+            case Types.NUMERIC -> {
+                byte[] bytes = readBytes(input);
+                yield bytes == null ? null : new BigDecimal(new BigInteger(bytes), input.readInt());
+            }
+            case Types.DATE -> input.readBoolean() ? Date.valueOf(LocalDate.ofEpochDay(input.readLong())) : null;
+            default -> throw new IOException("Unsupported type of column %s".formatted(column.name));
+        };
+    }
+
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    private static void printCounts(String action, Map<String, Long> counts, long startNanos) {
+        long total = 0;
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            report.append("\n  %-20s %,d rows".formatted(entry.getKey(), entry.getValue()));
+            total += entry.getValue();
+        }
+        System.out.printf("%s %,d rows of %d tables in %.1f s:%s%n", action, total, counts.size(),
+                (System.nanoTime() - startNanos) / 1e9, report);
+    }
+}
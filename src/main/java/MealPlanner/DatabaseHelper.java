@@ -1,158 +1,282 @@
 package MealPlanner;
 
-import MealPlanner.Models.*;
-import oracle.jdbc.OraclePreparedStatement;
-import oracle.jdbc.driver.OracleDriver;
+import MealPlanner.Dialects.Dialect;
+import MealPlanner.Dialects.OracleDialect;
+import MealPlanner.Metrics.QueryMetrics;
+import MealPlanner.Metrics.QueryScope;
+import MealPlanner.Models.ModelMetadata;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.sql.*;
-import java.util.HashSet;
 import java.util.Properties;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import static MealPlanner.Main.displayErrorDialog;
 
 public class DatabaseHelper {
-    private static final boolean DEBUG = false; // print all prepared SQL statements
+    static final boolean DEBUG = false; // print all prepared SQL statements and the timings of the migration scripts
 
     private final static int LOGIN_TIMEOUT_SECONDS = 3;
 
-    private static Connection connection = null;
+    private final static int DEFAULT_POOL_MIN_SIZE = 1;
+    private final static int DEFAULT_POOL_MAX_SIZE = 4;
+    private final static int DEFAULT_POOL_VALIDATION_TIMEOUT_SECONDS = 2;
+    private final static int DEFAULT_POOL_VALIDATION_INTERVAL_SECONDS = 30;
+    private final static int DEFAULT_POOL_IDLE_TIMEOUT_SECONDS = 300;
+    private final static int DEFAULT_POOL_BORROW_TIMEOUT_SECONDS = 30;
+    private final static int DEFAULT_STATEMENT_CACHE_SIZE = 50;
+    private final static boolean DEFAULT_METRICS_ENABLED = false;
+    private final static int DEFAULT_METRICS_SUMMARY_INTERVAL_SECONDS = 300;
+    private final static int DEFAULT_METRICS_N_PLUS_ONE_THRESHOLD = 0;
+
+    private static ConnectionPool pool = null;
+
+    /**
+     * The dialect of the database backend, chosen by {@link #connect()} from the JDBC URL; see {@link Dialect#forUrl(String)}
+     */
+    private static Dialect dialect = new OracleDialect();
+
+    /**
+     * The properties read from the {@code database.properties} resource file by {@link #connect()}
+     */
+    private static Properties properties = new Properties();
 
     /**
-     * Establishes a JDBC connection with the database; see {@link DriverManager#getConnection(String)}
+     * Creates the {@link ConnectionPool} of JDBC connections with the database and opens its minimum number of
+     * connections; see {@link ConnectionPool#warmUp()}
+     * <p>
+     * The pool is configured by the optional {@code pool.minSize}, {@code pool.maxSize},
+     * {@code pool.validationTimeoutSeconds}, {@code pool.validationIntervalSeconds}, {@code pool.idleTimeoutSeconds}
+     * and {@code pool.borrowTimeoutSeconds} properties of the {@code database.properties} resource file, and the size of
+     * the {@link StatementCache} of each connection by the optional {@code statementCache.size} property. The
+     * {@link QueryMetrics} are turned on or off by the optional {@code metrics.enabled} property, and the interval of
+     * their summary is set by the optional {@code metrics.summaryIntervalSeconds} property; the threshold of the N+1
+     * query detection of {@link QueryScope} is set by the optional {@code metrics.nPlusOneThreshold} property.
      */
     public static boolean connect() {
         Properties properties = getProperties();
         if (properties == null) {
             return false;
         }
+        DatabaseHelper.properties = properties;
+        ModelMetadata.resetSettings();
         String url = properties.getProperty("url");
+        Dialect newDialect = Dialect.forUrl(url);
+        if (newDialect == null) {
+            displayErrorDialog("Unsupported database URL: %s\n\nMake sure to follow the instructions in the README!", url);
+            return false;
+        }
+        Properties credentials = new Properties();
         String username = properties.getProperty("username");
         String password = properties.getProperty("password");
+        if (username != null) {
+            credentials.setProperty("user", username);
+        }
+        if (password != null) {
+            credentials.setProperty("password", password);
+        }
+        newDialect.configureConnection(credentials);
 
+        ConnectionPool newPool;
         try {
-            DriverManager.registerDriver(new OracleDriver()); // optional, but just in case
+            newPool = new ConnectionPool(url, credentials,
+                    getIntProperty(properties, "pool.minSize", DEFAULT_POOL_MIN_SIZE),
+                    getIntProperty(properties, "pool.maxSize", DEFAULT_POOL_MAX_SIZE),
+                    getIntProperty(properties, "pool.validationTimeoutSeconds", DEFAULT_POOL_VALIDATION_TIMEOUT_SECONDS),
+                    getIntProperty(properties, "pool.validationIntervalSeconds", DEFAULT_POOL_VALIDATION_INTERVAL_SECONDS) * 1000L,
+                    getIntProperty(properties, "pool.idleTimeoutSeconds", DEFAULT_POOL_IDLE_TIMEOUT_SECONDS) * 1000L,
+                    getIntProperty(properties, "pool.borrowTimeoutSeconds", DEFAULT_POOL_BORROW_TIMEOUT_SECONDS) * 1000L,
+                    getIntProperty(properties, "statementCache.size", DEFAULT_STATEMENT_CACHE_SIZE));
+        } catch (NumberFormatException exception) {
+            displayErrorDialog("Invalid connection pool setting in the database properties file!\n\n%s", exception.getMessage());
+            return false;
+        }
 
+        try {
             DriverManager.setLoginTimeout(LOGIN_TIMEOUT_SECONDS);
-            connection = DriverManager.getConnection(url, username, password);
+            newPool.warmUp();
 
+            dialect = newDialect;
+            pool = newPool;
+            boolean metricsEnabled = getBooleanProperty("metrics.enabled", DEFAULT_METRICS_ENABLED);
+            QueryMetrics.setEnabled(metricsEnabled);
+            QueryMetrics.start(metricsEnabled ? getIntProperty("metrics.summaryIntervalSeconds", DEFAULT_METRICS_SUMMARY_INTERVAL_SECONDS) : 0);
+            QueryScope.setThreshold(getIntProperty("metrics.nPlusOneThreshold", DEFAULT_METRICS_N_PLUS_ONE_THRESHOLD));
             return true;
         } catch (SQLTimeoutException exception) {
             displayErrorDialog("Failed to connect to the database!\n\nConnection timed out after %d seconds!", LOGIN_TIMEOUT_SECONDS);
         } catch (SQLException exception) {
             displayErrorDialog("Encountered an error while connecting to the database!\n\n%s", exception);
         }
+        newPool.close();
         return false;
     }
 
     /**
-     * Closes the JDBC connection to the database; see {@link Connection#close()}
+     * Closes the connection pool and its JDBC connections to the database; see {@link ConnectionPool#close()}
      */
     public static void disconnect() {
-        if (connection == null) {
+        if (pool == null) {
             return;
         }
-        try {
-            connection.close();
-        } catch (SQLException exception) {
-            displayErrorDialog("Encountered an error while disconnecting from the database!\n\n%s", exception);
+        pool.close();
+        pool = null;
+        QueryMetrics.stop();
+    }
+
+    /**
+     * @return The dialect of the database backend; see {@link Dialect}
+     */
+    public static Dialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Borrows a JDBC connection from the connection pool, to be returned by closing it (e.g., with a
+     * try-with-resources statement); see {@link ConnectionPool#borrow()}
+     *
+     * @return The borrowed connection
+     * @throws SQLException If not connected to the database, or if no connection could be borrowed
+     */
+    public static PooledConnection getConnection() throws SQLException {
+        ConnectionPool currentPool = pool;
+        if (currentPool == null) {
+            throw new SQLException("Not connected to the database!");
         }
-        connection = null;
+        return currentPool.borrow();
     }
 
     /**
-     * Checks if any of the model tables do not exist by querying the {@code all_tables} view, and if one does not exist,
-     * runs all the statements in the setup SQL script file {@code database.sql}.
+     * Brings the database schema up to date by applying the missing migration scripts; see
+     * {@link SchemaMigrator#migrate()}
      */
     public static boolean setup() {
-        HashSet<String> tables = new HashSet<>();
-        try (OraclePreparedStatement statement = prepareStatement(
-                "SELECT object_name FROM user_objects WHERE object_type IN ('TABLE', 'VIEW')")) {
-            try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    tables.add(resultSet.getString(1));
-                }
-            }
-        } catch (SQLException exception) {
-            displayErrorDialog("Failed to query the database during setup!\n\n%s", exception.getMessage());
-            return false;
+        return SchemaMigrator.migrate();
+    }
+
+    /**
+     * Binds a parameter with the setter matching its value, so the driver does not have to infer the type of every
+     * value as it does for {@link PreparedStatement#setObject(int, Object)}: integral numbers are bound with
+     * {@link PreparedStatement#setLong(int, long)}, other numbers with
+     * {@link PreparedStatement#setBigDecimal(int, BigDecimal)}, strings with
+     * {@link PreparedStatement#setString(int, String)}, dates with {@link PreparedStatement#setDate(int, Date)}, and
+     * {@code null} with {@link PreparedStatement#setNull(int, int)}
+     *
+     * @param statement      The prepared statement to bind the parameter to
+     * @param parameterIndex The index of the parameter, starting at 1
+     * @param parameter      The value to bind
+     * @param sqlType        The {@link Types} constant of the parameter, used to bind {@code null} values; if
+     *                       {@link Types#OTHER}, {@code null} values are bound as {@link Types#VARCHAR}, which Oracle
+     *                       and H2 accept for a column of any type
+     * @throws SQLException May be thrown by the {@link PreparedStatement} setters
+     */
+    public static void setParameter(PreparedStatement statement, int parameterIndex, Object parameter, int sqlType) throws SQLException {
+        if (parameter == null) {
+            statement.setNull(parameterIndex, sqlType == Types.OTHER ? Types.VARCHAR : sqlType);
+        } else if (parameter instanceof String) {
+            statement.setString(parameterIndex, (String) parameter);
+        } else if (parameter instanceof BigDecimal) {
+            statement.setBigDecimal(parameterIndex, (BigDecimal) parameter);
+        } else if (parameter instanceof Long || parameter instanceof Integer || parameter instanceof Short || parameter instanceof Byte) {
+            statement.setLong(parameterIndex, ((Number) parameter).longValue());
+        } else if (parameter instanceof Number) {
+            statement.setBigDecimal(parameterIndex, new BigDecimal(parameter.toString()));
+        } else if (parameter instanceof Date) {
+            statement.setDate(parameterIndex, (Date) parameter);
+        } else {
+            statement.setObject(parameterIndex, parameter);
         }
+    }
 
-        if (!tables.contains(FoodItem.TABLE.toUpperCase())
-                || !tables.contains(FridgeItem.TABLE.toUpperCase())
-                || !tables.contains(Meal.TABLE.toUpperCase())
-                || !tables.contains(MealPlan.TABLE.toUpperCase())
-                || !tables.contains(Recipe.TABLE.toUpperCase())
-                || !tables.contains(RecipeIngredient.TABLE.toUpperCase())
-                || !tables.contains(RecipeInstruction.TABLE.toUpperCase())
-                || !tables.contains(ShoppingListItem.TABLE.toUpperCase())) {
-            try (InputStream stream = DatabaseHelper.class.getClassLoader().getResourceAsStream("database.sql")) {
-                if (stream == null) {
-                    displayErrorDialog("Failed to read the database setup SQL file!");
-                    return false;
-                }
-
-                for (String sql : new String(stream.readAllBytes()).split("/")) {
-                    sql = sql.trim();
-                    try (OraclePreparedStatement statement = prepareStatement(sql)) {
-                        statement.executeUpdate();
-                    } catch (SQLException exception) {
-                        displayErrorDialog("Encountered an error while setting up the database!\n\n%s\n\n%s", sql, exception);
-                        return false;
-                    }
-                }
-            } catch (IOException exception) {
-                displayErrorDialog("Encountered an error while setting up the database!\n\n%s", exception);
-                return false;
-            }
+    /**
+     * Binds parameters to an already prepared statement, e.g. before each {@link PreparedStatement#addBatch()};
+     * see {@link #setParameter(PreparedStatement, int, Object, int)}
+     *
+     * @param statement  The prepared statement to bind the parameters to
+     * @param sqlTypes   The {@link Types} constant of each parameter (see {@link ModelMetadata#getSqlTypes(ModelMetadata.Column[]...)})
+     * @param parameters Parameters to bind to the SQL statement
+     * @throws SQLException May be thrown by the {@link PreparedStatement} setters
+     */
+    public static void setParameters(PreparedStatement statement, int[] sqlTypes, Object[] parameters) throws SQLException {
+        for (int index = 0; index < parameters.length; index++) {
+            setParameter(statement, index + 1, parameters[index], sqlTypes[index]);
         }
-        return true;
     }
 
     /**
-     * Helper recursive method for {@link #prepareStatement(String, Object...)}
+     * Binds parameters of unknown types to an already prepared statement; see
+     * {@link #setParameter(PreparedStatement, int, Object, int)}
+     *
+     * @param statement  The prepared statement to bind the parameters to
+     * @param parameters Parameters to bind to the SQL statement
+     * @throws SQLException May be thrown by the {@link PreparedStatement} setters
      */
-    private static void setParameters(OraclePreparedStatement statement, AtomicInteger parameterIndex, Object[] parameters) throws SQLException {
-        for (Object parameter : parameters) {
-            if (parameter instanceof Object[]) {
-                setParameters(statement, parameterIndex, (Object[]) parameter);
-                continue;
-            }
-            statement.setObject(parameterIndex.getAndIncrement(), parameter);
+    public static void setParameters(PreparedStatement statement, Object... parameters) throws SQLException {
+        for (int index = 0; index < parameters.length; index++) {
+            setParameter(statement, index + 1, parameters[index], Types.OTHER);
         }
     }
 
     /**
+     * @param connection  The borrowed connection to prepare the statement with; see {@link #getConnection()}
      * @param sql         SQL statement to prepare; see {@link Connection#prepareStatement(String, String[])}
      * @param columnNames Column names to return from the inserted row(s); see {@link Connection#prepareStatement(String, String[])}
-     * @param parameters  Parameters to bind to the SQL statement (if any); see {@link OraclePreparedStatement#setObject(int, Object)}
-     * @return The prepared statement with parameters (if any) bound to it; see {@link Connection#prepareStatement(String, String[])} and {@link OraclePreparedStatement#setObject(int, Object)}
-     * @throws SQLException May be thrown be either {@link Connection#prepareStatement(String)} or {@link OraclePreparedStatement#setObject(int, Object)}
+     * @param parameters  Parameters to bind to the SQL statement (if any); see {@link #setParameters(PreparedStatement, Object...)}
+     * @return The prepared statement with parameters (if any) bound to it, possibly reused from the statement cache of
+     * the connection (see {@link PooledConnection#prepareStatement(String, String[])}), which records its executions in
+     * the {@link QueryMetrics} if they are enabled (see {@link QueryMetrics#instrument(PreparedStatement, String)})
+     * @throws SQLException May be thrown be either {@link Connection#prepareStatement(String)} or the {@link PreparedStatement} setters
      */
-    public static OraclePreparedStatement prepareStatement(String sql, String[] columnNames, Object... parameters) throws SQLException {
+    public static PreparedStatement prepareStatement(PooledConnection connection, String sql, String[] columnNames, Object... parameters) throws SQLException {
         if (DEBUG) {
             System.out.println(sql);
         }
-        OraclePreparedStatement statement;
-        if (columnNames == null || columnNames.length == 0) {
-            statement = (OraclePreparedStatement) connection.prepareStatement(sql);
-        } else {
-            statement = (OraclePreparedStatement) connection.prepareStatement(sql, columnNames);
+        PreparedStatement statement;
+        try {
+            statement = QueryMetrics.instrument(connection.prepareStatement(sql, columnNames), sql);
+        } catch (SQLException exception) {
+            QueryMetrics.recordError(sql);
+            throw exception;
+        }
+        try {
+            setParameters(statement, parameters);
+        } catch (SQLException exception) {
+            statement.close();
+            throw exception;
         }
-        setParameters(statement, new AtomicInteger(1), parameters);
         return statement;
     }
 
     /**
+     * @param connection  The borrowed connection to prepare the statement with; see {@link #getConnection()}
+     * @param sql         SQL statement to prepare; see {@link Connection#prepareStatement(String, String[])}
+     * @param columnNames Column names to return from the inserted row(s); see {@link Connection#prepareStatement(String, String[])}
+     * @param sqlTypes    The {@link Types} constant of each parameter; see {@link #setParameters(PreparedStatement, int[], Object[])}
+     * @param parameters  Parameters to bind to the SQL statement
+     * @return The prepared statement with parameters bound to it
+     * @throws SQLException May be thrown be either {@link Connection#prepareStatement(String)} or the {@link PreparedStatement} setters
+     */
+    public static PreparedStatement prepareStatement(PooledConnection connection, String sql, String[] columnNames, int[] sqlTypes, Object[] parameters) throws SQLException {
+        PreparedStatement statement = prepareStatement(connection, sql, columnNames, new Object[0]);
+        try {
+            setParameters(statement, sqlTypes, parameters);
+        } catch (SQLException exception) {
+            statement.close();
+            throw exception;
+        }
+        return statement;
+    }
+
+    /**
+     * @param connection The borrowed connection to prepare the statement with; see {@link #getConnection()}
      * @param sql        SQL statement to prepare; see {@link Connection#prepareStatement(String)}
-     * @param parameters Parameters to bind to the SQL statement (if any); see {@link OraclePreparedStatement#setObject(int, Object)}
-     * @return The prepared statement with parameters (if any) bound to it; see {@link Connection#prepareStatement(String, String[])} and {@link OraclePreparedStatement#setObject(int, Object)}
-     * @throws SQLException May be thrown be either {@link Connection#prepareStatement(String)} or {@link OraclePreparedStatement#setObject(int, Object)}
+     * @param parameters Parameters to bind to the SQL statement (if any); see {@link #setParameters(PreparedStatement, Object...)}
+     * @return The prepared statement with parameters (if any) bound to it; see {@link Connection#prepareStatement(String)}
+     * @throws SQLException May be thrown be either {@link Connection#prepareStatement(String)} or the {@link PreparedStatement} setters
      */
-    public static OraclePreparedStatement prepareStatement(String sql, Object... parameters) throws SQLException {
-        return prepareStatement(sql, null, parameters);
+    public static PreparedStatement prepareStatement(PooledConnection connection, String sql, Object... parameters) throws SQLException {
+        return prepareStatement(connection, sql, null, parameters);
     }
 
     /**
@@ -175,4 +299,59 @@ public class DatabaseHelper {
         }
         return null;
     }
+
+    /**
+     * @param key          The property key in the {@code database.properties} resource file
+     * @param defaultValue The value to return if the property is not set or is invalid
+     * @return The integer value of the property, or {@code defaultValue} if the property is not set; if the property is
+     * not an integer, an error dialog is displayed and {@code defaultValue} is returned
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        try {
+            return getIntProperty(properties, key, defaultValue);
+        } catch (NumberFormatException exception) {
+            displayErrorDialog("Invalid setting in the database properties file!\n\n%s", exception.getMessage());
+            return defaultValue;
+        }
+    }
+
+    /**
+     * @param key          The property key in the {@code database.properties} resource file
+     * @param defaultValue The value to return if the property is not set or is invalid
+     * @return The boolean value of the property, or {@code defaultValue} if the property is not set; if the property is
+     * neither {@code true} nor {@code false}, an error dialog is displayed and {@code defaultValue} is returned
+     */
+    public static boolean getBooleanProperty(String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        if (value.trim().equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.trim().equalsIgnoreCase("false")) {
+            return false;
+        }
+        displayErrorDialog("Invalid setting in the database properties file!\n\nProperty '%s' must be true or false, but was '%s'!", key, value);
+        return defaultValue;
+    }
+
+    /**
+     * @param properties   The properties to read the value from
+     * @param key          The property key
+     * @param defaultValue The value to return if the property is not set
+     * @return The integer value of the property, or {@code defaultValue} if the property is not set
+     * @throws NumberFormatException If the property value is not an integer
+     */
+    private static int getIntProperty(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException exception) {
+            throw new NumberFormatException("Property '%s' must be an integer, but was '%s'!".formatted(key, value));
+        }
+    }
 }
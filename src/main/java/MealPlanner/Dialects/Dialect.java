@@ -0,0 +1,96 @@
+package MealPlanner.Dialects;
+
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The SQL differences between the supported database backends: the statements generated by
+ * {@code MealPlanner.Models.ModelMetadata} and {@code MealPlanner.Models.Model} that are not standard SQL, the
+ * metadata query used by {@code MealPlanner.SchemaMigrator}, and backend-specific connection
+ * settings; the dialect is chosen by the prefix of the JDBC URL in the {@code database.properties} resource file (see
+ * {@link #forUrl(String)})
+ */
+public interface Dialect {
+    /**
+     * @param url JDBC URL of the database
+     * @return The dialect of the database backend of the URL, or {@code null} if the backend is not supported
+     */
+    static Dialect forUrl(String url) {
+        if (url == null) {
+            return null;
+        }
+        if (url.startsWith("jdbc:oracle:")) {
+            return new OracleDialect();
+        }
+        if (url.startsWith("jdbc:h2:")) {
+            return new H2Dialect();
+        }
+        return null;
+    }
+
+    /**
+     * @return The name of the dialect, which is also the name of the directory of its migration scripts; see
+     * {@code MealPlanner.SchemaMigrator}
+     */
+    String getName();
+
+    /**
+     * Adds the backend-specific connection properties (if any) to the properties every connection is opened with
+     *
+     * @param connectionProperties The connection properties (e.g., {@code user} and {@code password})
+     */
+    default void configureConnection(Properties connectionProperties) {
+    }
+
+    /**
+     * @param table       The table to merge into
+     * @param columns     All columns of the table; the statement takes one parameter per column, in this order
+     * @param primaryKeys The primary key columns matching an existing row
+     * @return The SQL statement that updates the row matching the primary key column(s), or inserts it if no row
+     * matches
+     */
+    String getMergeSql(String table, String[] columns, String[] primaryKeys);
+
+    /**
+     * @return The clause (including the leading space) appended to an ordered SELECT statement to return at most the
+     * number of rows given by one parameter
+     */
+    default String getLimitClause() {
+        return " FETCH FIRST ? ROWS ONLY";
+    }
+
+    /**
+     * @return The clause (including the leading space) appended to an ordered SELECT statement to skip the number of
+     * rows given by a first parameter and return at most the number of rows given by a second parameter
+     */
+    default String getOffsetLimitClause() {
+        return " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+    }
+
+    /**
+     * @return The SELECT statement returning the names of the tables and views of the current user or schema, in
+     * upper case
+     */
+    String getTableNamesSql();
+
+    /**
+     * @param table     The table of the identity column
+     * @param column    The identity column
+     * @param nextValue The value the identity column should generate next, one more than the largest value in the
+     *                  table
+     * @return The DDL statement that makes the identity column continue after the values inserted explicitly (e.g., by
+     * a restore), so it does not generate values that are already in use
+     */
+    String getResetIdentitySql(String table, String column, long nextValue);
+
+    /**
+     * @param statements Statements to execute in order, without their terminators
+     * @param ddl        Whether the statements are DDL statements (e.g., {@code CREATE TABLE}) rather than DML
+     *                   statements (e.g., {@code INSERT})
+     * @return A single statement executing all the given statements in one round trip (e.g., an anonymous block), or
+     * {@code null} if the dialect has no such statement, in which case the statements are sent as a JDBC batch
+     */
+    default String getBlockSql(List<String> statements, boolean ddl) {
+        return null;
+    }
+}
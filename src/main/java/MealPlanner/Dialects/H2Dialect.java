@@ -0,0 +1,39 @@
+package MealPlanner.Dialects;
+
+import java.util.Collections;
+import java.util.Properties;
+
+/**
+ * The dialect of the H2 embedded in-process database ({@code jdbc:h2:} URLs, e.g. {@code jdbc:h2:./mealplanner} for a
+ * database file in the working directory), for single-household installs that do not have an Oracle database
+ */
+public class H2Dialect implements Dialect {
+    @Override
+    public String getName() {
+        return "h2";
+    }
+
+    /**
+     * Allows {@code day} as a column name (see {@code MealPlanner.Models.Meal}), which is a keyword in H2
+     */
+    @Override
+    public void configureConnection(Properties connectionProperties) {
+        connectionProperties.setProperty("NON_KEYWORDS", "DAY");
+    }
+
+    @Override
+    public String getMergeSql(String table, String[] columns, String[] primaryKeys) {
+        return "MERGE INTO %s (%s) KEY (%s) VALUES (%s)".formatted(table, String.join(", ", columns),
+                String.join(", ", primaryKeys), String.join(", ", Collections.nCopies(columns.length, "?")));
+    }
+
+    @Override
+    public String getTableNamesSql() {
+        return "SELECT table_name FROM information_schema.tables WHERE table_schema = CURRENT_SCHEMA";
+    }
+
+    @Override
+    public String getResetIdentitySql(String table, String column, long nextValue) {
+        return "ALTER TABLE %s ALTER COLUMN %s RESTART WITH %d".formatted(table, column, nextValue);
+    }
+}
@@ -0,0 +1,74 @@
+package MealPlanner.Dialects;
+
+import java.util.List;
+
+/**
+ * The dialect of Oracle Database, through the Oracle JDBC driver ({@code jdbc:oracle:} URLs)
+ */
+public class OracleDialect implements Dialect {
+    @Override
+    public String getName() {
+        return "oracle";
+    }
+
+    @Override
+    public String getMergeSql(String table, String[] columns, String[] primaryKeys) {
+        StringBuilder sourceBuilder = new StringBuilder();
+        StringBuilder onBuilder = new StringBuilder();
+        StringBuilder updateBuilder = new StringBuilder();
+        StringBuilder insertBuilder = new StringBuilder();
+        StringBuilder valuesBuilder = new StringBuilder();
+        for (String column : columns) {
+            if (!sourceBuilder.isEmpty()) {
+                sourceBuilder.append(", ");
+                insertBuilder.append(", ");
+                valuesBuilder.append(", ");
+            }
+            sourceBuilder.append("? ").append(column);
+            insertBuilder.append(column);
+            valuesBuilder.append("source.").append(column);
+
+            boolean primaryKey = false;
+            for (String primaryKeyColumn : primaryKeys) {
+                primaryKey |= primaryKeyColumn.equals(column);
+            }
+            StringBuilder builder = primaryKey ? onBuilder : updateBuilder;
+            if (!builder.isEmpty()) {
+                builder.append(primaryKey ? " AND " : ", ");
+            }
+            builder.append("target.%1$s = source.%1$s".formatted(column));
+        }
+        return ("MERGE INTO %s target USING (SELECT %s FROM dual) source ON (%s)"
+                + " WHEN MATCHED THEN UPDATE SET %s WHEN NOT MATCHED THEN INSERT (%s) VALUES (%s)").formatted(table,
+                sourceBuilder, onBuilder, updateBuilder, insertBuilder, valuesBuilder);
+    }
+
+    @Override
+    public String getTableNamesSql() {
+        return "SELECT object_name FROM user_objects WHERE object_type IN ('TABLE', 'VIEW')";
+    }
+
+    /**
+     * {@code START WITH LIMIT VALUE} makes Oracle compute the next value from the largest value in the table
+     */
+    @Override
+    public String getResetIdentitySql(String table, String column, long nextValue) {
+        return "ALTER TABLE %s MODIFY %s GENERATED BY DEFAULT AS IDENTITY (START WITH LIMIT VALUE)".formatted(table, column);
+    }
+
+    /**
+     * DDL statements are run with {@code EXECUTE IMMEDIATE}, as PL/SQL does not allow them directly
+     */
+    @Override
+    public String getBlockSql(List<String> statements, boolean ddl) {
+        StringBuilder builder = new StringBuilder("BEGIN\n");
+        for (String sql : statements) {
+            if (ddl) {
+                builder.append("    EXECUTE IMMEDIATE '").append(sql.replace("'", "''")).append("';\n");
+            } else {
+                builder.append("    ").append(sql).append(";\n");
+            }
+        }
+        return builder.append("END;").toString();
+    }
+}
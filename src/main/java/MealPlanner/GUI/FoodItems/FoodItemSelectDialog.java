@@ -71,7 +71,7 @@ public class FoodItemSelectDialog extends JDialog {
     private void populate() {
         foodPane.removeAll();
 
-        FoodItem[] foodItems = new FoodItem().select();
+        FoodItem[] foodItems = new FoodItem().selectColumns("name", "unit");
         if (foodItems.length == 0) {
             label.setText("There are no items in the database.");
         } else {
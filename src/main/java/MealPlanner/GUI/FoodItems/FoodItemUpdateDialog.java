@@ -31,6 +31,7 @@ public class FoodItemUpdateDialog extends JDialog {
 
         label.setText("%s item...".formatted(foodItem == null ? "Adding new" : "Editing existing"));
         this.foodItem = foodItem == null ? new FoodItem() : foodItem;
+        this.foodItem.load();
 
         contentPane.add(new InputPanel("Name", this.foodItem.name == null ? "" : this.foodItem.name, text -> this.foodItem.name = text, 20).contentPane);
         contentPane.add(new InputPanel("Food Group", this.foodItem.food_group == null ? "" : this.foodItem.food_group, text -> this.foodItem.food_group = text.toLowerCase(), 10).contentPane);
@@ -159,12 +160,7 @@ public class FoodItemUpdateDialog extends JDialog {
                 return;
             }
 
-            boolean success;
-            if (this.foodItem.id == null) {
-                success = this.foodItem.insert();
-            } else {
-                success = this.foodItem.update();
-            }
+            boolean success = this.foodItem.save();
             if (!success) {
                 return;
             }
@@ -94,12 +94,7 @@ public class FridgeItemUpdateDialog extends JDialog {
                 return;
             }
 
-            boolean success;
-            if (this.fridgeItem.id == null) {
-                success = this.fridgeItem.insert();
-            } else {
-                success = this.fridgeItem.update();
-            }
+            boolean success = this.fridgeItem.save();
             if (!success) {
                 return;
             }
@@ -8,11 +8,14 @@ import MealPlanner.GUI.MealPlans.MealPlanUpdateDialog;
 import MealPlanner.GUI.Recipes.RecipePanel;
 import MealPlanner.GUI.Recipes.RecipeUpdateDialog;
 import MealPlanner.GUI.ShoppingItems.ShoppingItemPanel;
+import MealPlanner.Metrics.QueryScope;
 import MealPlanner.Models.*;
 
 import javax.swing.*;
 import java.awt.*;
 import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
 
 public class MainFrame extends JFrame {
     public JPanel contentPane;
@@ -60,7 +63,20 @@ public class MainFrame extends JFrame {
         setVisible(true);
 
         tabbedPane.addChangeListener(event -> {
-            switch (tabbedPane.getSelectedIndex()) {
+            int selectedIndex = tabbedPane.getSelectedIndex();
+            if (selectedIndex >= 0) {
+                populateTab(selectedIndex);
+            }
+        });
+        tabbedPane.setSelectedIndex(0);
+    }
+
+    @SuppressWarnings("try") // the scopes are only opened and closed, not referenced
+    private void populateTab(int index) {
+        // rows selected while populating a tab share one instance per primary key
+        try (IdentityMap ignored = IdentityMap.open();
+             QueryScope ignoredScope = QueryScope.open("populating the %s tab".formatted(tabbedPane.getTitleAt(index)))) {
+            switch (index) {
                 case 0:
                     populateRecipeTab();
                     break;
@@ -74,8 +90,7 @@ public class MainFrame extends JFrame {
                     populateShoppingListTab();
                     break;
             }
-        });
-        tabbedPane.setSelectedIndex(0);
+        }
     }
 
     public void refresh() {
@@ -103,20 +118,31 @@ public class MainFrame extends JFrame {
     public void populateRecipeTab() {
         recipesPanel.removeAll();
 
-        Recipe[] recipes = new Recipe().select();
-        if (recipes == null) {
+        // the recipes are collected before their children are fetched, since the stream holds its connection
+        ArrayList<Recipe> recipeList = new ArrayList<>();
+        boolean success = new Recipe().forEach((Recipe recipe) -> recipeList.add(recipe));
+        ArrayList<RecipePanel> recipePanelList = new ArrayList<>(recipeList.size());
+        for (int index = 0; index < recipeList.size(); index += Model.BATCH_SIZE) {
+            addRecipePanels(recipeList.subList(index, Math.min(index + Model.BATCH_SIZE, recipeList.size())), recipePanelList);
+        }
+        recipePanels = recipePanelList.toArray(new RecipePanel[0]);
+        if (!success) {
             return;
         }
 
-        recipePanels = new RecipePanel[recipes.length];
-        for (int index = 0; index < recipes.length; index++) {
-            Recipe recipe = recipes[index];
+        updateRecipePanelsVisibility();
+    }
+
+    private void addRecipePanels(List<Recipe> pendingRecipes, ArrayList<RecipePanel> recipePanelList) {
+        Recipe[] recipes = pendingRecipes.toArray(new Recipe[0]);
+        Recipe.fetchIngredients(recipes);
+        Recipe.fetchInstructions(recipes);
+
+        for (Recipe recipe : recipes) {
             RecipePanel recipePanel = new RecipePanel(recipe);
-            recipePanels[index] = recipePanel;
+            recipePanelList.add(recipePanel);
             recipesPanel.add(recipePanel.contentPane);
         }
-
-        updateRecipePanelsVisibility();
     }
 
     public void updateRecipePanelsVisibility() {
@@ -172,7 +198,7 @@ public class MainFrame extends JFrame {
     public void populateMealPlansTab() {
         mealPlansPanel.removeAll();
 
-        MealPlan[] mealPlans = new MealPlan().select();
+        MealPlan[] mealPlans = new MealPlan().selectWithMeals();
         if (mealPlans == null) {
             return;
         }
@@ -252,6 +278,8 @@ public class MainFrame extends JFrame {
             return;
         }
 
+        FridgeItem.loadFoodItems(fridgeItems);
+
         fridgeItemPanels = new FridgeItemPanel[fridgeItems.length];
         for (int index = 0; index < fridgeItems.length; index++) {
             FridgeItem fridgeItem = fridgeItems[index];
@@ -304,6 +332,8 @@ public class MainFrame extends JFrame {
             return;
         }
 
+        ShoppingListItem.loadFoodItems(shoppingListItems);
+
         shoppingItemPanels = new ShoppingItemPanel[shoppingListItems.length];
         for (int index = 0; index < shoppingListItems.length; index++) {
             ShoppingListItem shoppingListItem = shoppingListItems[index];
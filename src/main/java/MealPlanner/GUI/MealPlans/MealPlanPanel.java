@@ -37,6 +37,7 @@ public class MealPlanPanel extends Panel {
             Main.mainFrame.refresh();
         });
 
+        Meal.loadRecipes(mealPlan.getMeals());
         for (Meal meal : mealPlan.getMeals()) {
             contentPane.add(new MealPanel(mealPlan, meal).contentPane);
         }
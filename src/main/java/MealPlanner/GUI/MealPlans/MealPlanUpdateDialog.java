@@ -7,6 +7,7 @@ import MealPlanner.GUI.Recipes.RecipeSelectDialog;
 import MealPlanner.Main;
 import MealPlanner.Models.Meal;
 import MealPlanner.Models.MealPlan;
+import MealPlanner.Models.Model;
 import MealPlanner.Models.Recipe;
 
 import javax.swing.*;
@@ -93,37 +94,9 @@ public class MealPlanUpdateDialog extends JDialog {
                 }
             }
 
-            boolean success;
-            if (this.mealPlan.id == null) {
-                success = this.mealPlan.insert();
-            } else {
-                for (Meal meal : this.mealPlan.getMeals()) {
-                    boolean shouldDelete = true;
-                    for (Meal mealUpdated : meals) {
-                        if (mealUpdated.id != null && mealUpdated.id.intValue() == meal.id.intValue()) {
-                            shouldDelete = false;
-                            break;
-                        }
-                    }
-                    if (shouldDelete) {
-                        meal.delete();
-                    }
-                }
-
-                success = this.mealPlan.update();
-            }
-            if (!success) {
-                return;
-            }
-
-            for (Meal meal : meals) {
-                meal.plan_id = this.mealPlan.id;
-                if (meal.id == null) {
-                    success = success && meal.insert();
-                } else {
-                    success = success && meal.update();
-                }
-            }
+            boolean success = this.mealPlan.save()
+                    && Model.syncChildren(Meal.class, "plan_id", this.mealPlan.id, meals);
+            this.mealPlan.clearCache();
 
             if (!success) {
                 return;
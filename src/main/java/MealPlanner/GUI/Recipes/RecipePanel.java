@@ -131,6 +131,7 @@ public class RecipePanel extends Panel {
             Main.mainFrame.refresh();
         });
 
+        RecipeIngredient.loadFoodItems(recipe.getIngredients());
         for (RecipeIngredient recipeIngredient : recipe.getIngredients()) {
             contentPane.add(new RecipeIngredientPanel(recipeIngredient).contentPane);
         }
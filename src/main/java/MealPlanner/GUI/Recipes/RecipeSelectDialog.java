@@ -27,7 +27,7 @@ public class RecipeSelectDialog extends JDialog {
         contentPane.setLayout(new BoxLayout(contentPane, BoxLayout.Y_AXIS));
         contentPane.add(topPane);
 
-        Recipe[] recipes = new Recipe().select();
+        Recipe[] recipes = new Recipe().selectColumns("name");
         if (recipes.length == 0) {
             label.setText("There are no recipes in the database; please add recipes before adding meals.");
         } else {
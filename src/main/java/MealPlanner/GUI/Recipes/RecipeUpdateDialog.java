@@ -6,6 +6,7 @@ import MealPlanner.GUI.Components.InputPanel;
 import MealPlanner.GUI.FoodItems.FoodItemSelectDialog;
 import MealPlanner.Main;
 import MealPlanner.Models.FoodItem;
+import MealPlanner.Models.Model;
 import MealPlanner.Models.Recipe;
 import MealPlanner.Models.RecipeIngredient;
 import MealPlanner.Models.RecipeInstruction;
@@ -60,6 +61,7 @@ public class RecipeUpdateDialog extends JDialog {
         ingredientsPanel.setLayout(new BoxLayout(ingredientsPanel, BoxLayout.Y_AXIS));
         contentPane.add(ingredientsPanel);
         if (recipe != null) {
+            RecipeIngredient.loadFoodItems(recipe.getIngredients());
             for (RecipeIngredient ingredient : recipe.getIngredients()) {
                 addIngredient(ingredient);
             }
@@ -116,61 +118,10 @@ public class RecipeUpdateDialog extends JDialog {
                 }
             }
 
-            boolean success;
-            if (this.recipe.id == null) {
-                success = this.recipe.insert();
-            } else {
-                this.recipe.clearCache();
-
-                for (RecipeIngredient ingredient : this.recipe.getIngredients()) {
-                    boolean shouldDelete = true;
-                    for (RecipeIngredient ingredientUpdated : ingredients) {
-                        if (ingredientUpdated.id != null && ingredientUpdated.id.intValue() == ingredient.id.intValue()) {
-                            shouldDelete = false;
-                            break;
-                        }
-                    }
-                    if (shouldDelete) {
-                        ingredient.delete();
-                    }
-                }
-
-                for (RecipeInstruction instruction : this.recipe.getInstructions()) {
-                    boolean shouldDelete = true;
-                    for (RecipeInstruction instructionUpdated : instructions) {
-                        if (instructionUpdated.id != null && instructionUpdated.id.intValue() == instruction.id.intValue()) {
-                            shouldDelete = false;
-                            break;
-                        }
-                    }
-                    if (shouldDelete) {
-                        instruction.delete();
-                    }
-                }
-
-                success = this.recipe.update();
-            }
-            if (!success) {
-                return;
-            }
-
-            for (RecipeIngredient ingredient : ingredients) {
-                ingredient.recipe_id = this.recipe.id;
-                if (ingredient.id == null) {
-                    success = success && ingredient.insert();
-                } else {
-                    success = success && ingredient.update();
-                }
-            }
-
-            for (RecipeInstruction instruction : instructions) {
-                instruction.recipe_id = this.recipe.id;
-                if (instruction.id == null) {
-                    success = success && instruction.insert();
-                } else {
-                    success = success && instruction.update();
-                }
-            }
+            boolean success = this.recipe.save()
+                    && Model.syncChildren(RecipeIngredient.class, "recipe_id", this.recipe.id, ingredients)
+                    && Model.syncChildren(RecipeInstruction.class, "recipe_id", this.recipe.id, instructions);
+            this.recipe.clearCache();
 
             if (!success) {
                 return;
@@ -0,0 +1,96 @@
+package MealPlanner.Import;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads RFC 4180 CSV records: fields separated by commas, optionally enclosed in double quotes (with embedded double
+ * quotes doubled), and records separated by line breaks outside quoted fields; the first record is the header naming
+ * the fields
+ */
+public class CsvRecordReader extends RecordReader {
+    private final String[] fieldNames;
+
+    CsvRecordReader(BufferedReader reader) throws IOException {
+        super(reader);
+        String header = readRecord();
+        if (header == null) {
+            throw new IOException("The CSV file is empty!");
+        }
+        List<String> names = splitFields(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        fieldNames = new String[names.size()];
+        for (int index = 0; index < fieldNames.length; index++) {
+            fieldNames[index] = normalizeFieldName(names.get(index));
+        }
+    }
+
+    @Override
+    protected String readRecord() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        boolean quoted = false;
+        int character;
+        while ((character = reader.read()) != -1) {
+            if (character == '"') {
+                quoted = !quoted; // a doubled quote toggles twice, which leaves the state unchanged
+            } else if (!quoted && (character == '\n' || character == '\r')) {
+                if (builder.isEmpty()) {
+                    continue; // blank line, or the \n of a \r\n
+                }
+                return builder.toString();
+            }
+            builder.append((char) character);
+        }
+        return builder.isEmpty() ? null : builder.toString();
+    }
+
+    private static List<String> splitFields(String record) {
+        ArrayList<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int index = 0; index < record.length(); index++) {
+            char character = record.charAt(index);
+            if (quoted) {
+                if (character == '"') {
+                    if (index + 1 < record.length() && record.charAt(index + 1) == '"') {
+                        field.append('"');
+                        index++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(character);
+                }
+            } else if (character == '"') {
+                quoted = true;
+            } else if (character == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(character);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public Map<String, String> parse(String record) {
+        List<String> fields = splitFields(record);
+        if (fields.size() > fieldNames.length) {
+            throw new IllegalArgumentException("Expected at most %d fields, but found %d".formatted(fieldNames.length, fields.size()));
+        }
+        HashMap<String, String> values = new HashMap<>();
+        for (int index = 0; index < fields.size(); index++) {
+            String value = fields.get(index).trim();
+            values.put(fieldNames[index], value.isEmpty() ? null : value);
+        }
+        return values;
+    }
+}
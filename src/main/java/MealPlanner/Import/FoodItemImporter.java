@@ -0,0 +1,356 @@
+package MealPlanner.Import;
+
+import MealPlanner.DatabaseHelper;
+import MealPlanner.Models.*;
+import MealPlanner.Models.ModelMetadata.Column;
+import MealPlanner.PooledConnection;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static MealPlanner.Main.displayErrorDialog;
+
+/**
+ * Imports a food catalog (e.g., a public nutrient database) from a CSV or JSON file (see {@link RecordReader}) into
+ * the {@link FoodItem} table in bounded memory
+ * <p>
+ * The file is read in chunks of {@link #CHUNK_SIZE} records, and the chunks are parsed and normalized in parallel
+ * (at most {@link #MAX_PENDING_CHUNKS} chunks at a time); the parsed chunks are then processed in file order: items
+ * are validated in bulk with {@link Model#validateAll(Collection)}, valid items whose normalized name and unit match
+ * an existing row or an earlier imported item are skipped using a hash index of name/unit keys, and the remaining
+ * items are inserted in JDBC batches of {@link Model#BATCH_SIZE} rows, committing every {@link #COMMIT_INTERVAL} rows.
+ * <p>
+ * Fields are matched to the {@link FoodItem} columns by name (see {@link RecordReader}); unknown fields are ignored.
+ * Nutrition facts are expected in milligrams, as they are stored. Records with an unknown food group or a text field
+ * longer than its column are rejected as invalid while parsing, so they cannot fail the insertion of a whole batch.
+ */
+public class FoodItemImporter {
+    public static final int CHUNK_SIZE = 1000;
+    public static final int COMMIT_INTERVAL = 10000;
+    private static final int MAX_PENDING_CHUNKS = Runtime.getRuntime().availableProcessors() * 2;
+
+    /**
+     * Number of invalid or malformed records reported individually, after which they are only counted
+     */
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    /**
+     * Size in bytes of the {@code VARCHAR} columns of the {@link FoodItem} table; Oracle measures it in bytes by default
+     */
+    private static final int MAX_STRING_BYTES = 255;
+
+    private static final Map<String, String> UNIT_SYNONYMS = Map.ofEntries(
+            Map.entry("g", "gram"), Map.entry("gm", "gram"), Map.entry("kg", "kilogram"), Map.entry("mg", "milligram"),
+            Map.entry("oz", "ounce"), Map.entry("lb", "pound"), Map.entry("lbs", "pound"), Map.entry("ml", "milliliter"),
+            Map.entry("l", "liter"), Map.entry("tsp", "teaspoon"), Map.entry("tbsp", "tablespoon"),
+            Map.entry("tbs", "tablespoon"), Map.entry("c", "cup"), Map.entry("pc", "piece"), Map.entry("pcs", "piece"));
+
+    private static final Map<String, String> FOOD_GROUP_SYNONYMS = Map.ofEntries(
+            Map.entry("fruit", "fruit"), Map.entry("fruits", "fruit"), Map.entry("vegetable", "vegetable"),
+            Map.entry("vegetables", "vegetable"), Map.entry("veg", "vegetable"), Map.entry("grain", "grains"),
+            Map.entry("grains", "grains"), Map.entry("protein", "protein"), Map.entry("proteins", "protein"),
+            Map.entry("dairy", "dairy"));
+
+    /**
+     * Values used by catalogs for unknown nutrition facts, imported as {@code null}
+     */
+    private static final Set<String> MISSING_NUMBERS = Set.of("NA", "N/A", "NULL", "-");
+
+    /**
+     * The counts of an import
+     */
+    public static class Result {
+        public long read;
+        public long imported;
+        public long duplicates;
+        public long invalid;
+        public long elapsedMillis;
+
+        @Override
+        public String toString() {
+            return "%d records read, %d imported, %d duplicates skipped, %d invalid skipped in %.1f s".formatted(read,
+                    imported, duplicates, invalid, elapsedMillis / 1000.0);
+        }
+    }
+
+    /**
+     * The items parsed from a chunk of records, and the errors of the records that could not be parsed
+     */
+    private static class ParsedChunk {
+        final ArrayList<FoodItem> items = new ArrayList<>();
+        final ArrayList<String> errors = new ArrayList<>();
+    }
+
+    private final ModelMetadata metadata = ModelMetadata.get(FoodItem.class);
+    private final HashSet<Long> keys = new HashSet<>();
+    private final Result result = new Result();
+    private int reportedErrors = 0;
+
+    /**
+     * Collapses whitespace; e.g., {@code "  Peanut   Butter "} becomes {@code "Peanut Butter"}
+     */
+    static String normalizeName(String name) {
+        return name == null ? null : name.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Lower-cases and singularizes units, and expands common abbreviations; e.g., {@code "Tbsp."} becomes
+     * {@code "tablespoon"} and {@code "Slices"} becomes {@code "slice"}
+     */
+    static String normalizeUnit(String unit) {
+        if (unit == null) {
+            return null;
+        }
+        unit = unit.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        if (unit.endsWith(".")) {
+            unit = unit.substring(0, unit.length() - 1);
+        }
+        String synonym = UNIT_SYNONYMS.get(unit);
+        if (synonym != null) {
+            return synonym;
+        }
+        if (unit.length() > 3 && unit.endsWith("es") && (unit.endsWith("ches") || unit.endsWith("shes"))) {
+            return unit.substring(0, unit.length() - 2); // e.g., "pinches"
+        }
+        if (unit.length() > 3 && unit.endsWith("s") && !unit.endsWith("ss")) {
+            return unit.substring(0, unit.length() - 1);
+        }
+        return unit;
+    }
+
+    /**
+     * @return The food group matching one of the values allowed by the {@code food_group} column, or {@code null} if
+     * there is no match
+     */
+    static String normalizeFoodGroup(String foodGroup) {
+        return foodGroup == null ? null : FOOD_GROUP_SYNONYMS.get(foodGroup.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the case-insensitive name and unit, used as the key of the hash index of existing items
+     */
+    private static long getKey(String name, String unit) {
+        long hash = 0xcbf29ce484222325L;
+        String key = name.toLowerCase(Locale.ROOT) + '\0' + unit;
+        for (int index = 0; index < key.length(); index++) {
+            hash ^= key.charAt(index);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * @param path The CSV or JSON file to import
+     * @return The counts of the import, or {@code null} if an error occurred; rows committed before the error are kept
+     */
+    public Result importFile(Path path) {
+        if (metadata == null || metadata.insertSql == null) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+
+        if (!loadExistingKeys()) {
+            return null;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(MAX_PENDING_CHUNKS / 2, 1), runnable -> {
+            Thread thread = new Thread(runnable, "FoodItemImporter-parser");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (RecordReader reader = RecordReader.open(path);
+             PooledConnection connection = DatabaseHelper.getConnection();
+             PreparedStatement statement = DatabaseHelper.prepareStatement(connection, metadata.insertSql)) {
+            connection.getConnection().setAutoCommit(false);
+            int[] sqlTypes = metadata.getSqlTypes(metadata.nonKeyColumns);
+            ArrayList<FoodItem> batch = new ArrayList<>(Model.BATCH_SIZE);
+            long uncommitted = 0;
+
+            ArrayDeque<Future<ParsedChunk>> pending = new ArrayDeque<>();
+            boolean endOfFile = false;
+            while (!endOfFile || !pending.isEmpty()) {
+                while (!endOfFile && pending.size() < MAX_PENDING_CHUNKS) {
+                    List<String> records = reader.readChunk(CHUNK_SIZE);
+                    if (records.isEmpty()) {
+                        endOfFile = true;
+                        break;
+                    }
+                    long firstRecord = result.read + 1;
+                    result.read += records.size();
+                    pending.add(executor.submit(() -> parseChunk(reader, records, firstRecord)));
+                }
+                if (pending.isEmpty()) {
+                    break;
+                }
+
+                ParsedChunk chunk = pending.remove().get();
+                for (String error : chunk.errors) {
+                    reportError(error);
+                }
+                for (FoodItem item : deduplicate(validate(chunk.items))) {
+                    batch.add(item);
+                    if (batch.size() == Model.BATCH_SIZE) {
+                        insertBatch(statement, sqlTypes, batch);
+                        uncommitted += Model.BATCH_SIZE;
+                    }
+                    if (uncommitted >= COMMIT_INTERVAL) {
+                        connection.getConnection().commit();
+                        uncommitted = 0;
+                        System.out.printf("Imported %d of %d records read so far...%n", result.imported, result.read);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                insertBatch(statement, sqlTypes, batch);
+            }
+            connection.getConnection().commit();
+            connection.getConnection().setAutoCommit(true);
+        } catch (IOException | IllegalArgumentException exception) {
+            displayErrorDialog("Encountered an error while reading the import file!\n\n%s", exception);
+            return null;
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while importing food items!\n\n%s", exception);
+            return null;
+        } catch (ExecutionException exception) {
+            displayErrorDialog("Encountered an error while parsing the import file!\n\n%s", exception.getCause());
+            return null;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            executor.shutdownNow();
+            EntityCache.clear(); // the cached food item selection no longer contains every row
+        }
+
+        result.elapsedMillis = System.currentTimeMillis() - start;
+        return result;
+    }
+
+    /**
+     * Fills the hash index with the keys of the existing rows, selecting only their name and unit
+     */
+    private boolean loadExistingKeys() {
+        try (PooledConnection connection = DatabaseHelper.getConnection();
+             PreparedStatement statement = DatabaseHelper.prepareStatement(connection,
+                     "SELECT name, unit FROM %s".formatted(FoodItem.TABLE))) {
+            statement.setFetchSize(metadata.getFetchSize());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String name = normalizeName(resultSet.getString(1));
+                    String unit = normalizeUnit(resultSet.getString(2));
+                    if (name != null && unit != null) {
+                        keys.add(getKey(name, unit));
+                    }
+                }
+            }
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while reading the existing food items!\n\n%s", exception);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parses and normalizes a chunk of records; runs on a parser thread
+     */
+    private ParsedChunk parseChunk(RecordReader reader, List<String> records, long firstRecord) {
+        ParsedChunk chunk = new ParsedChunk();
+        for (int index = 0; index < records.size(); index++) {
+            try {
+                Map<String, String> fields = reader.parse(records.get(index));
+                FoodItem item = new FoodItem();
+                for (Column column : metadata.nonKeyColumns) {
+                    String value = fields.get(column.name);
+                    if (column.type == String.class) {
+                        column.set(item, value);
+                    } else {
+                        column.set(item, value == null || MISSING_NUMBERS.contains(value.toUpperCase(Locale.ROOT)) ? null : new BigDecimal(value));
+                    }
+                }
+                item.name = normalizeName(item.name);
+                item.unit = normalizeUnit(item.unit);
+                String foodGroup = item.food_group;
+                item.food_group = normalizeFoodGroup(foodGroup);
+                if (item.food_group == null && foodGroup != null && !foodGroup.isBlank()) {
+                    throw new IllegalArgumentException("Unknown food group '%s'".formatted(foodGroup));
+                }
+                checkLength("name", item.name);
+                checkLength("unit", item.unit);
+                chunk.items.add(item);
+            } catch (IllegalArgumentException exception) { // includes NumberFormatException
+                chunk.errors.add("Record %d: %s".formatted(firstRecord + index, exception.getMessage()));
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * @throws IllegalArgumentException If the value does not fit in a column of {@link #MAX_STRING_BYTES} bytes
+     */
+    private static void checkLength(String field, String value) {
+        if (value != null && value.getBytes(StandardCharsets.UTF_8).length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("The %s is longer than %d bytes".formatted(field, MAX_STRING_BYTES));
+        }
+    }
+
+    /**
+     * Skips the items whose key is already in the hash index; runs after validation, so only the keys of items that are
+     * inserted are added, and an invalid record does not cause a later valid record with the same key to be skipped
+     */
+    private ArrayList<FoodItem> deduplicate(List<FoodItem> items) {
+        ArrayList<FoodItem> unique = new ArrayList<>(items.size());
+        for (FoodItem item : items) {
+            // validation rejects items without a name or unit, so every item has a key
+            if (keys.add(getKey(item.name, item.unit))) {
+                unique.add(item);
+            } else {
+                result.duplicates++;
+            }
+        }
+        return unique;
+    }
+
+    private List<FoodItem> validate(ArrayList<FoodItem> items) {
+        ArrayList<Validator.Violation> violations = Model.validateAll(items);
+        if (violations == null || violations.isEmpty()) {
+            return items;
+        }
+
+        Set<Model> invalid = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Validator.Violation violation : violations) {
+            if (invalid.add(violation.model)) {
+                FoodItem item = (FoodItem) violation.model;
+                reportError("Item '%s' (%s): %s".formatted(item.name, item.unit, violation.message));
+            }
+        }
+        items.removeIf(invalid::contains);
+        return items;
+    }
+
+    private void reportError(String error) {
+        result.invalid++;
+        if (reportedErrors < MAX_REPORTED_ERRORS) {
+            System.err.println(error);
+        } else if (reportedErrors == MAX_REPORTED_ERRORS) {
+            System.err.println("Further invalid records are only counted.");
+        }
+        reportedErrors++;
+    }
+
+    private void insertBatch(PreparedStatement statement, int[] sqlTypes, ArrayList<FoodItem> batch) throws SQLException {
+        for (FoodItem item : batch) {
+            DatabaseHelper.setParameters(statement, sqlTypes, metadata.getValues(item, metadata.nonKeyColumns));
+            statement.addBatch();
+        }
+        statement.executeBatch();
+        result.imported += batch.size();
+        batch.clear();
+    }
+}
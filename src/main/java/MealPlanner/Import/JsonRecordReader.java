@@ -0,0 +1,178 @@
+package MealPlanner.Import;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads flat JSON objects, either as the elements of a top-level array or one per line (JSON Lines); each object is a
+ * record, and its members are the fields
+ * <p>
+ * Member values must be strings, numbers, booleans or {@code null}; nested objects and arrays are not supported.
+ */
+public class JsonRecordReader extends RecordReader {
+    JsonRecordReader(BufferedReader reader) {
+        super(reader);
+    }
+
+    /**
+     * Returns the text of the next object, skipping everything outside of objects (array brackets, commas and
+     * whitespace)
+     */
+    @Override
+    protected String readRecord() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        int character;
+        while ((character = reader.read()) != -1) {
+            if (depth == 0) {
+                if (character == '{') {
+                    depth = 1;
+                    builder.append('{');
+                }
+                continue;
+            }
+
+            builder.append((char) character);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (character == '\\') {
+                    escaped = true;
+                } else if (character == '"') {
+                    inString = false;
+                }
+            } else if (character == '"') {
+                inString = true;
+            } else if (character == '{') {
+                depth++;
+            } else if (character == '}' && --depth == 0) {
+                return builder.toString();
+            }
+        }
+        if (depth > 0) {
+            throw new IOException("Unterminated JSON object at the end of the file");
+        }
+        return null;
+    }
+
+    @Override
+    public Map<String, String> parse(String record) {
+        return new Parser(record).parseObject();
+    }
+
+    private static class Parser {
+        private final String text;
+        private int position = 0;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("%s at position %d".formatted(message, position));
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private void expect(char character) {
+            skipWhitespace();
+            if (position >= text.length() || text.charAt(position) != character) {
+                throw error("Expected '%c'".formatted(character));
+            }
+            position++;
+        }
+
+        Map<String, String> parseObject() {
+            HashMap<String, String> values = new HashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == '}') {
+                return values;
+            }
+            while (true) {
+                skipWhitespace();
+                String name = parseString();
+                expect(':');
+                String value = parseValue();
+                values.put(normalizeFieldName(name), value == null || value.isBlank() ? null : value.trim());
+                skipWhitespace();
+                if (position < text.length() && text.charAt(position) == ',') {
+                    position++;
+                    continue;
+                }
+                expect('}');
+                return values;
+            }
+        }
+
+        private String parseValue() {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw error("Expected a value");
+            }
+            char character = text.charAt(position);
+            if (character == '"') {
+                return parseString();
+            }
+            if (character == '{' || character == '[') {
+                throw error("Nested objects and arrays are not supported");
+            }
+
+            int start = position;
+            while (position < text.length() && ",}] \t\r\n".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+            String literal = text.substring(start, position);
+            if (literal.isEmpty()) {
+                throw error("Expected a value");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String parseString() {
+            if (position >= text.length() || text.charAt(position) != '"') {
+                throw error("Expected a string");
+            }
+            position++;
+            StringBuilder builder = new StringBuilder();
+            while (position < text.length()) {
+                char character = text.charAt(position++);
+                if (character == '"') {
+                    return builder.toString();
+                }
+                if (character != '\\') {
+                    builder.append(character);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    break;
+                }
+                char escape = text.charAt(position++);
+                switch (escape) {
+                    case 'b' -> builder.append('\b');
+                    case 'f' -> builder.append('\f');
+                    case 'n' -> builder.append('\n');
+                    case 'r' -> builder.append('\r');
+                    case 't' -> builder.append('\t');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) {
+                            throw error("Invalid unicode escape");
+                        }
+                        builder.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        position += 4;
+                    }
+                    default -> builder.append(escape);
+                }
+            }
+            throw error("Unterminated string");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package MealPlanner.Import;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the records of an import file in two steps, so the expensive step can run in parallel: the records are split
+ * sequentially from the stream as raw text by {@link #readChunk(int)}, and each raw record is then parsed into a map
+ * of field names to values by {@link #parse(String)}, which is safe to call from any thread
+ * <p>
+ * Field names are normalized to lower case with spaces and hyphens replaced by underscores, so a header such as
+ * {@code Food Group} matches the {@code food_group} column.
+ */
+public abstract class RecordReader implements Closeable {
+    protected final BufferedReader reader;
+
+    protected RecordReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @param path The file to read; {@code .csv} files are read as CSV with a header row, and {@code .json},
+     *             {@code .jsonl} and {@code .ndjson} files as JSON objects (either in a top-level array or one per line)
+     * @return A reader for the file
+     * @throws IOException              If the file could not be opened or its CSV header could not be read
+     * @throws IllegalArgumentException If the file extension is not supported
+     */
+    public static RecordReader open(Path path) throws IOException {
+        String fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".csv")) {
+            return new CsvRecordReader(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+        }
+        if (fileName.endsWith(".json") || fileName.endsWith(".jsonl") || fileName.endsWith(".ndjson")) {
+            return new JsonRecordReader(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+        }
+        throw new IllegalArgumentException("Unsupported import file type: %s (expected .csv, .json, .jsonl or .ndjson)".formatted(fileName));
+    }
+
+    static String normalizeFieldName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+    }
+
+    /**
+     * @return The next raw record, or {@code null} at the end of the stream
+     * @throws IOException If the stream could not be read
+     */
+    protected abstract String readRecord() throws IOException;
+
+    /**
+     * @param maxRecords Maximum number of records to read
+     * @return Up to {@code maxRecords} raw records; empty at the end of the stream
+     * @throws IOException If the stream could not be read
+     */
+    public List<String> readChunk(int maxRecords) throws IOException {
+        ArrayList<String> records = new ArrayList<>(maxRecords);
+        while (records.size() < maxRecords) {
+            String record = readRecord();
+            if (record == null) {
+                break;
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * @param record A raw record returned by {@link #readChunk(int)}
+     * @return The fields of the record by normalized field name; values are {@code null} for empty or {@code null}
+     * fields
+     * @throws IllegalArgumentException If the record is malformed
+     */
+    public abstract Map<String, String> parse(String record);
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
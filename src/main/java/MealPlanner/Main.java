@@ -1,6 +1,7 @@
 package MealPlanner;
 
 import MealPlanner.GUI.MainFrame;
+import MealPlanner.Metrics.QueryScope;
 import com.formdev.flatlaf.FlatLightLaf;
 
 import javax.swing.*;
@@ -14,10 +15,22 @@ public class Main {
     public static JDialog dialog;
     public static JOptionPane dialogPane;
 
+    /**
+     * Whether the application was started with a command (see {@link CommandLine}), in which case dialogs are printed to
+     * the console instead of displayed
+     */
+    public static boolean commandLine = false;
+
     public static void main(String[] args) {
+        if (args.length > 0) {
+            commandLine = true;
+            System.exit(CommandLine.run(args));
+        }
+
         SwingUtilities.invokeLater(() -> {
             FlatLightLaf.setup();
             initialize();
+            QueryScope.installEventQueue();
             mainFrame = new MainFrame();
         });
     }
@@ -74,6 +87,19 @@ public class Main {
         return stackTrace.toString();
     }
 
+    /**
+     * Formats the message as {@link #createOrUpdateDialog(String, Integer, Object[], String, Object...)} does, for
+     * printing to the console
+     */
+    private static String formatMessage(String message, Object... parameters) {
+        for (int index = 0; index < parameters.length; index++) {
+            if (parameters[index] instanceof Exception) {
+                parameters[index] = getStackTrace((Exception) parameters[index]);
+            }
+        }
+        return message.formatted(parameters);
+    }
+
     /**
      * Displays a message dialog using the specified title, message type, and formatted message
      * <p>
@@ -130,6 +156,10 @@ public class Main {
      * Passes message and optional format parameters to {@link #createInfoDialog(String, Object...)}
      */
     public static void displayInfoDialog(String message, Object... parameters) {
+        if (commandLine) {
+            System.out.println(formatMessage(message, parameters));
+            return;
+        }
         createInfoDialog(message, parameters);
         dialog.setVisible(true);
     }
@@ -146,6 +176,10 @@ public class Main {
      * Passes message and optional format parameters to {@link #createErrorDialog(String, Object...)}
      */
     public static void displayErrorDialog(String message, Object... parameters) {
+        if (commandLine) {
+            System.err.println(formatMessage(message, parameters));
+            return;
+        }
         createErrorDialog(message, parameters);
         dialog.setVisible(true);
     }
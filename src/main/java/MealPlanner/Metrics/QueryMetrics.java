@@ -0,0 +1,376 @@
+package MealPlanner.Metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records the execution count, error count, row count and latency histogram of the prepared statements of
+ * {@code MealPlanner.DatabaseHelper}, per normalized SQL template (see {@link #normalize(String)}) and per model class
+ * (the model of the table the statement reads from or writes to), and exposes them as JMX MBeans in the
+ * {@link #DOMAIN} domain and in a periodic summary printed to the error output (see {@link #start(int)})
+ * <p>
+ * The latency of a statement is the time taken by its {@code execute} methods; the rows of a query are counted as
+ * its result set is read, and the rows of an update are its update count. Executions are also counted in the
+ * {@link QueryScope} open on the executing thread, if any.
+ * <p>
+ * Recording wraps every statement and result set in a proxy, so every call to them (including each column getter) is
+ * made through reflection; it is therefore off unless turned on with {@link #setEnabled(boolean)} or by N+1 query
+ * detection, which relies on it.
+ */
+public class QueryMetrics {
+    public static final String DOMAIN = "MealPlanner";
+
+    /**
+     * Maximum number of distinct SQL templates tracked, after which new templates are recorded as {@link #OTHER}
+     */
+    private static final int MAX_TEMPLATES = 500;
+    private static final String OTHER = "(other)";
+
+    /**
+     * Maximum number of SQL statements whose template is remembered, so each statement is only normalized once
+     */
+    private static final int MAX_TARGETS = 2000;
+
+    /**
+     * Number of templates and models listed by the periodic summary
+     */
+    private static final int SUMMARY_LIMIT = 15;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TABLE = Pattern.compile("\\b(?:FROM|INTO|UPDATE)\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private static final ConcurrentHashMap<String, QueryStatistics> templates = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, QueryStatistics> models = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, String> modelNames = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Target> targets = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = false;
+    private static ScheduledExecutorService summaryExecutor;
+    private static long lastSummaryExecutions = 0;
+
+    /**
+     * The statistics a SQL statement is recorded in
+     */
+    private record Target(String template, QueryStatistics templateStatistics, QueryStatistics modelStatistics) {
+        void recordExecution(long nanos, boolean error) {
+            templateStatistics.recordExecution(nanos, error);
+            if (modelStatistics != null) {
+                modelStatistics.recordExecution(nanos, error);
+            }
+        }
+
+        void recordRows(long count) {
+            templateStatistics.recordRows(count);
+            if (modelStatistics != null) {
+                modelStatistics.recordRows(count);
+            }
+        }
+    }
+
+    private static class Summary implements QueryMetricsMXBean {
+        @Override
+        public int getTemplateCount() {
+            return templates.size();
+        }
+
+        @Override
+        public String getSummary() {
+            return QueryMetrics.getSummary(SUMMARY_LIMIT);
+        }
+
+        @Override
+        public void reset() {
+            QueryMetrics.reset();
+        }
+    }
+
+    static {
+        register(new Summary(), "type=QueryMetrics");
+    }
+
+    /**
+     * Maps a table to its model class, so the statements of the table are also recorded per model
+     *
+     * @param table     The table of the model
+     * @param modelName The name of the model class
+     */
+    public static void registerModel(String table, String modelName) {
+        modelNames.put(table.toLowerCase(Locale.ROOT), modelName);
+    }
+
+    /**
+     * Replaces literals with {@code ?}, lists of parameters (e.g., of {@code IN} conditions of any length) with
+     * {@code (?, ...)}, and whitespace with single spaces, so statements that differ only in their values share a
+     * template
+     *
+     * @param sql SQL statement to normalize
+     * @return The SQL template of the statement
+     */
+    public static String normalize(String sql) {
+        String template = STRING_LITERAL.matcher(sql).replaceAll("?");
+        template = NUMBER_LITERAL.matcher(template).replaceAll("?");
+        template = WHITESPACE.matcher(template).replaceAll(" ").trim();
+        return PARAMETER_LIST.matcher(template).replaceAll("(?, ...)");
+    }
+
+    private static Target getTarget(String sql) {
+        Target target = targets.get(sql);
+        if (target != null) {
+            return target;
+        }
+
+        String template = normalize(sql);
+        QueryStatistics templateStatistics = getStatistics(templates, "template",
+                templates.size() < MAX_TEMPLATES || templates.containsKey(template) ? template : OTHER);
+        QueryStatistics modelStatistics = null;
+        Matcher matcher = TABLE.matcher(template);
+        if (matcher.find()) {
+            String modelName = modelNames.get(matcher.group(1).toLowerCase(Locale.ROOT));
+            if (modelName != null) {
+                modelStatistics = getStatistics(models, "model", modelName);
+            }
+        }
+
+        target = new Target(template, templateStatistics, modelStatistics);
+        if (targets.size() < MAX_TARGETS) {
+            targets.put(sql, target);
+        }
+        return target;
+    }
+
+    private static QueryStatistics getStatistics(ConcurrentHashMap<String, QueryStatistics> map, String category, String name) {
+        QueryStatistics statistics = map.get(name);
+        if (statistics != null) {
+            return statistics;
+        }
+        QueryStatistics newStatistics = new QueryStatistics(name);
+        statistics = map.putIfAbsent(name, newStatistics);
+        if (statistics != null) {
+            return statistics;
+        }
+        register(newStatistics, "type=QueryMetrics,category=%s,name=%s".formatted(category, ObjectName.quote(name)));
+        return newStatistics;
+    }
+
+    private static void register(Object mbean, String properties) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(mbean, new ObjectName("%s:%s".formatted(DOMAIN, properties)));
+        } catch (JMException | SecurityException exception) {
+            System.err.printf("Failed to register the query metrics MBean %s: %s%n", properties, exception);
+        }
+    }
+
+    /**
+     * @param newEnabled Whether the statements prepared from now on record their executions; see
+     *                   {@link #instrument(PreparedStatement, String)}
+     */
+    public static void setEnabled(boolean newEnabled) {
+        enabled = newEnabled;
+    }
+
+    /**
+     * @return Whether the statements prepared from now on are instrumented: if the metrics are enabled, or if N+1 query
+     * detection is on (see {@link QueryScope#isEnabled()})
+     */
+    public static boolean isEnabled() {
+        return enabled || QueryScope.isEnabled();
+    }
+
+    /**
+     * Records an error that occurred before the statement could be executed (e.g., while preparing it)
+     *
+     * @param sql The SQL statement
+     */
+    public static void recordError(String sql) {
+        if (isEnabled()) {
+            getTarget(sql).recordExecution(0, true);
+        }
+    }
+
+    /**
+     * @param statement The prepared statement to record the executions of
+     * @param sql       The SQL statement it was prepared with
+     * @return A statement recording its executions, rows and errors, and otherwise behaving as the given statement, or
+     * the given statement itself if instrumentation is off (see {@link #isEnabled()})
+     */
+    public static PreparedStatement instrument(PreparedStatement statement, String sql) {
+        if (!isEnabled()) {
+            return statement;
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new InstrumentedStatement(statement, getTarget(sql)));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private record InstrumentedStatement(PreparedStatement statement, Target target) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("getResultSet")) {
+                ResultSet resultSet = (ResultSet) QueryMetrics.invoke(statement, method, args);
+                return resultSet == null ? null : instrument(resultSet, (Statement) proxy);
+            }
+            if (!name.startsWith("execute")) {
+                return QueryMetrics.invoke(statement, method, args);
+            }
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = QueryMetrics.invoke(statement, method, args);
+            } catch (Throwable throwable) {
+                long nanos = System.nanoTime() - start;
+                target.recordExecution(nanos, true);
+                QueryScope.record(target.template, nanos);
+                throw throwable;
+            }
+            long nanos = System.nanoTime() - start;
+            target.recordExecution(nanos, false);
+            QueryScope.record(target.template, nanos);
+
+            if (result instanceof ResultSet resultSet) {
+                return instrument(resultSet, (Statement) proxy);
+            } else if (result instanceof Integer count && count > 0) {
+                target.recordRows(count);
+            } else if (result instanceof Long count && count > 0) {
+                target.recordRows(count);
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    target.recordRows(Math.max(count, 0));
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    target.recordRows(Math.max(count, 0));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * @param resultSet      The result set to count the rows of
+         * @param statementProxy The instrumented statement the result set belongs to, returned by its
+         *                       {@code getStatement()} method instead of the wrapped statement
+         */
+        private ResultSet instrument(ResultSet resultSet, Statement statementProxy) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("getStatement")) {
+                            return statementProxy;
+                        }
+                        Object result = QueryMetrics.invoke(resultSet, method, args);
+                        if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                            target.recordRows(1);
+                        }
+                        return result;
+                    });
+        }
+    }
+
+    /**
+     * @param limit Maximum number of templates and of models listed
+     * @return The statistics of the SQL templates and model classes taking the most total time, one per line
+     */
+    public static String getSummary(int limit) {
+        StringBuilder builder = new StringBuilder("Query metrics (by total time):");
+        appendStatistics(builder, "Models", models, limit);
+        appendStatistics(builder, "SQL templates", templates, limit);
+        return builder.toString();
+    }
+
+    private static void appendStatistics(StringBuilder builder, String heading, ConcurrentHashMap<String, QueryStatistics> map, int limit) {
+        ArrayList<QueryStatistics> list = new ArrayList<>(map.values());
+        list.removeIf(statistics -> statistics.getExecutionCount() == 0);
+        list.sort(Comparator.comparingDouble(QueryStatistics::getTotalMillis).reversed());
+        builder.append("\n  %s (%d):".formatted(heading, list.size()));
+        for (QueryStatistics statistics : list.subList(0, Math.min(limit, list.size()))) {
+            builder.append("\n    %,8d executions %,10d rows %4d errors %10.1f ms total %8.2f ms mean %8.2f ms p95  %s".formatted(
+                    statistics.getExecutionCount(), statistics.getRowCount(), statistics.getErrorCount(),
+                    statistics.getTotalMillis(), statistics.getMeanMillis(), statistics.getP95Millis(), statistics.getName()));
+        }
+    }
+
+    /**
+     * Resets the statistics of every SQL template and model class
+     */
+    public static void reset() {
+        for (QueryStatistics statistics : templates.values()) {
+            statistics.reset();
+        }
+        for (QueryStatistics statistics : models.values()) {
+            statistics.reset();
+        }
+    }
+
+    /**
+     * Starts printing the summary of the {@link #SUMMARY_LIMIT} most expensive templates and models periodically, when
+     * statements were executed since the last summary
+     *
+     * @param intervalSeconds The interval between summaries; if 0, no summaries are printed
+     */
+    public static synchronized void start(int intervalSeconds) {
+        stop();
+        if (intervalSeconds <= 0) {
+            return;
+        }
+        summaryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "QueryMetrics-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        summaryExecutor.scheduleAtFixedRate(QueryMetrics::printSummary, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops printing the summary periodically, printing it a last time if statements were executed since the last
+     * summary
+     */
+    public static synchronized void stop() {
+        if (summaryExecutor == null) {
+            return;
+        }
+        summaryExecutor.shutdownNow();
+        summaryExecutor = null;
+        printSummary();
+    }
+
+    private static synchronized void printSummary() {
+        long executions = 0;
+        for (QueryStatistics statistics : templates.values()) {
+            executions += statistics.getExecutionCount();
+        }
+        if (executions == lastSummaryExecutions) {
+            return;
+        }
+        lastSummaryExecutions = executions;
+        System.err.println(getSummary(SUMMARY_LIMIT)); // kept out of the output of the command line
+    }
+}
@@ -0,0 +1,19 @@
+package MealPlanner.Metrics;
+
+/**
+ * The summary of all query statistics, as exposed over JMX; see {@link QueryMetrics}
+ */
+public interface QueryMetricsMXBean {
+    int getTemplateCount();
+
+    /**
+     * @return The statistics of the SQL templates and model classes taking the most total time; see
+     * {@link QueryMetrics#getSummary(int)}
+     */
+    String getSummary();
+
+    /**
+     * Resets the statistics of every SQL template and model class
+     */
+    void reset();
+}
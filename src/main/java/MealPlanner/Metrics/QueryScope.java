@@ -0,0 +1,206 @@
+package MealPlanner.Metrics;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.InvocationEvent;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Detects N+1 queries: groups the statements executed on a thread during a scope (e.g., the dispatch of one Swing
+ * event, or one population of a tab) by SQL template, and reports every template executed more than the
+ * {@link #setThreshold(int) threshold} number of times within the scope when the scope is closed, with its execution
+ * count, its total time and the call site that first executed it
+ * <p>
+ * Detection is off unless a threshold is set (see the {@code metrics.nPlusOneThreshold} property read by
+ * {@code MealPlanner.DatabaseHelper#connect()}). Scopes opened within an open scope replace it until they are closed,
+ * so each statement is only counted in the innermost scope. Statements are recorded by the statements instrumented by
+ * {@link QueryMetrics}.
+ */
+public class QueryScope implements AutoCloseable {
+    /**
+     * Maximum number of frames of the call site reported for a template
+     */
+    private static final int CALL_SITE_FRAMES = 4;
+
+    /**
+     * The classes that only pass statements through, which are left out of the reported call sites
+     */
+    private static final Set<String> INFRASTRUCTURE_CLASSES = Set.of("MealPlanner.DatabaseHelper",
+            "MealPlanner.StatementCache", "MealPlanner.Models.Model", "MealPlanner.Models.ModelMetadata",
+            "MealPlanner.Models.EntityCache", "MealPlanner.Models.RowMapper");
+
+    private static final ThreadLocal<QueryScope> current = new ThreadLocal<>();
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+    private static volatile int threshold = 0;
+
+    /**
+     * The scope returned by {@link #open(String)} while detection is off
+     */
+    private static final QueryScope DISABLED = new QueryScope(null, null);
+
+    /**
+     * Supplies the name of the scope, so it is only built when the scope is reported
+     */
+    private final Supplier<String> name;
+    private final QueryScope previous;
+    private LinkedHashMap<String, TemplateCount> templates;
+
+    private static class TemplateCount {
+        final String callSite;
+        int executions = 0;
+        long nanos = 0;
+
+        TemplateCount(String callSite) {
+            this.callSite = callSite;
+        }
+    }
+
+    private QueryScope(Supplier<String> name, QueryScope previous) {
+        this.name = name;
+        this.previous = previous;
+    }
+
+    /**
+     * @param newThreshold The number of executions of one SQL template within a scope above which it is reported; if
+     *                     0, detection is off
+     */
+    public static void setThreshold(int newThreshold) {
+        threshold = Math.max(newThreshold, 0);
+    }
+
+    public static boolean isEnabled() {
+        return threshold > 0;
+    }
+
+    /**
+     * Opens a new scope on the current thread, which lasts until the returned scope is closed
+     *
+     * @param name The name of the scope used in reports, e.g. the UI action it covers
+     * @return The new scope, meant to be used in a try-with-resources statement
+     */
+    public static QueryScope open(String name) {
+        return open(() -> name);
+    }
+
+    private static QueryScope open(Supplier<String> name) {
+        if (!isEnabled()) {
+            return DISABLED;
+        }
+        QueryScope scope = new QueryScope(name, current.get());
+        current.set(scope);
+        return scope;
+    }
+
+    /**
+     * Counts an execution of a statement in the innermost scope open on the current thread, if any
+     *
+     * @param template The SQL template of the statement; see {@link QueryMetrics#normalize(String)}
+     * @param nanos    The time taken by the execution
+     */
+    static void record(String template, long nanos) {
+        if (!isEnabled()) {
+            return;
+        }
+        QueryScope scope = current.get();
+        if (scope == null) {
+            return;
+        }
+        if (scope.templates == null) {
+            scope.templates = new LinkedHashMap<>();
+        }
+        TemplateCount count = scope.templates.get(template);
+        if (count == null) {
+            count = new TemplateCount(getCallSite());
+            scope.templates.put(template, count);
+        }
+        count.executions++;
+        count.nanos += nanos;
+    }
+
+    /**
+     * @return The innermost frames of the current stack outside the JDK, {@link QueryScope}, {@link QueryMetrics} and
+     * {@link #INFRASTRUCTURE_CLASSES}, one per line
+     */
+    private static String getCallSite() {
+        List<StackWalker.StackFrame> frames = stackWalker.walk(stream -> stream.filter(frame -> {
+            String className = frame.getClassName();
+            return !className.startsWith("java.") && !className.startsWith("javax.") && !className.startsWith("jdk.")
+                    && !className.startsWith("sun.") && !className.startsWith("com.sun.")
+                    && !className.startsWith(QueryScope.class.getPackageName() + '.')
+                    && !INFRASTRUCTURE_CLASSES.contains(className);
+        }).limit(CALL_SITE_FRAMES).toList());
+        StringBuilder builder = new StringBuilder();
+        for (StackWalker.StackFrame frame : frames) {
+            builder.append("\n    at ").append(frame.toStackTraceElement());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Closes the scope, reporting the SQL templates executed more than the threshold number of times within it
+     */
+    @Override
+    public void close() {
+        if (this == DISABLED) {
+            return;
+        }
+        if (current.get() == this) {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+        if (templates == null) {
+            return;
+        }
+
+        int currentThreshold = threshold;
+        for (Map.Entry<String, TemplateCount> entry : templates.entrySet()) {
+            TemplateCount count = entry.getValue();
+            if (currentThreshold > 0 && count.executions > currentThreshold) {
+                System.err.printf("Possible N+1 queries in %s: %d executions taking %.1f ms total of%n    %s%s%n", name.get(),
+                        count.executions, count.nanos / 1e6, entry.getKey(), count.callSite);
+            }
+        }
+    }
+
+    /**
+     * An event queue dispatching each event within a scope named after the event, so the queries issued by the
+     * listeners of one UI action are counted together
+     */
+    private static class ScopedEventQueue extends EventQueue {
+        @Override
+        @SuppressWarnings("try") // the scope is only opened and closed, not referenced
+        protected void dispatchEvent(AWTEvent event) {
+            try (QueryScope ignored = open(() -> describe(event))) {
+                super.dispatchEvent(event);
+            }
+        }
+
+        private static String describe(AWTEvent event) {
+            if (event instanceof InvocationEvent) {
+                return "invokeLater task";
+            }
+            String description = "%s on %s".formatted(event.getClass().getSimpleName(), event.getSource().getClass().getSimpleName());
+            if (event.getSource() instanceof AbstractButton button && button.getText() != null && !button.getText().isEmpty()) {
+                description += " '%s'".formatted(button.getText());
+            }
+            return description;
+        }
+    }
+
+    /**
+     * Scopes every Swing event dispatched from now on (see {@link ScopedEventQueue}), if detection is on; must be
+     * called on the event dispatch thread, before the UI is created
+     */
+    public static void installEventQueue() {
+        if (isEnabled()) {
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(new ScopedEventQueue());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package MealPlanner.Metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution count, error count, row count and latency histogram of the statements of one SQL template or model class;
+ * updated without locking, so it can be recorded from any thread
+ * <p>
+ * The latency histogram has fixed buckets (see {@link #BUCKET_BOUNDS_MICROS}), so percentiles are estimated as the
+ * upper bound of the bucket containing them.
+ */
+public class QueryStatistics implements QueryStatisticsMXBean {
+    /**
+     * The inclusive upper bound of each latency bucket, in microseconds; a last bucket holds the slower executions
+     */
+    private static final long[] BUCKET_BOUNDS_MICROS = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000, 2_500_000
+    };
+
+    private final String name;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MICROS.length + 1);
+
+    QueryStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param nanos The time taken by the execution
+     * @param error Whether the execution threw an exception
+     */
+    void recordExecution(long nanos, boolean error) {
+        executions.increment();
+        if (error) {
+            errors.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+
+        long micros = nanos / 1000;
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+    }
+
+    void recordRows(long count) {
+        rows.add(count);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRowCount() {
+        return rows.sum();
+    }
+
+    @Override
+    public double getTotalMillis() {
+        return totalNanos.sum() / 1e6;
+    }
+
+    @Override
+    public double getMeanMillis() {
+        long count = executions.sum();
+        return count == 0 ? 0 : totalNanos.sum() / 1e6 / count;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    /**
+     * @param percentile The percentile to estimate, between 0 and 1
+     * @return The upper bound of the latency bucket containing the percentile, or the maximum latency if it is in the
+     * last bucket
+     */
+    private double getPercentileMillis(double percentile) {
+        long[] counts = getHistogramCounts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile);
+        long cumulative = 0;
+        for (int bucket = 0; bucket < BUCKET_BOUNDS_MICROS.length; bucket++) {
+            cumulative += counts[bucket];
+            if (cumulative >= rank) {
+                return BUCKET_BOUNDS_MICROS[bucket] / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    @Override
+    public double getP50Millis() {
+        return getPercentileMillis(0.50);
+    }
+
+    @Override
+    public double getP95Millis() {
+        return getPercentileMillis(0.95);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return getPercentileMillis(0.99);
+    }
+
+    @Override
+    public String[] getHistogramBuckets() {
+        String[] labels = new String[BUCKET_BOUNDS_MICROS.length + 1];
+        for (int bucket = 0; bucket < BUCKET_BOUNDS_MICROS.length; bucket++) {
+            labels[bucket] = "<= %s ms".formatted(BUCKET_BOUNDS_MICROS[bucket] / 1000.0);
+        }
+        labels[BUCKET_BOUNDS_MICROS.length] = "> %s ms".formatted(BUCKET_BOUNDS_MICROS[BUCKET_BOUNDS_MICROS.length - 1] / 1000.0);
+        return labels;
+    }
+
+    @Override
+    public long[] getHistogramCounts() {
+        long[] counts = new long[buckets.length()];
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            counts[bucket] = buckets.get(bucket);
+        }
+        return counts;
+    }
+
+    @Override
+    public void reset() {
+        executions.reset();
+        errors.reset();
+        rows.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+        for (int bucket = 0; bucket < buckets.length(); bucket++) {
+            buckets.set(bucket, 0);
+        }
+    }
+}
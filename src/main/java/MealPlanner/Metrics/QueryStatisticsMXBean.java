@@ -0,0 +1,44 @@
+package MealPlanner.Metrics;
+
+/**
+ * The statistics of the statements of one SQL template or model class, as exposed over JMX; see {@link QueryStatistics}
+ */
+public interface QueryStatisticsMXBean {
+    /**
+     * @return The normalized SQL template or the name of the model class
+     */
+    String getName();
+
+    long getExecutionCount();
+
+    long getErrorCount();
+
+    /**
+     * @return The number of rows returned by queries plus the number of rows changed by updates
+     */
+    long getRowCount();
+
+    double getTotalMillis();
+
+    double getMeanMillis();
+
+    double getMaxMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+
+    /**
+     * @return The upper bound of each bucket of {@link #getHistogramCounts()}, e.g. {@code "<= 1 ms"}
+     */
+    String[] getHistogramBuckets();
+
+    /**
+     * @return The number of executions in each latency bucket of {@link #getHistogramBuckets()}
+     */
+    long[] getHistogramCounts();
+
+    void reset();
+}
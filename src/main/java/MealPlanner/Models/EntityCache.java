@@ -0,0 +1,214 @@
+package MealPlanner.Models;
+
+import MealPlanner.Models.Annotations.Cacheable;
+import MealPlanner.Models.ModelMetadata.Column;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide cache of the rows of {@link Cacheable} model classes, keyed by class and primary key value and bounded
+ * to the {@link #MAX_ENTRIES} least recently used rows; the ids returned by a {@link Model#select()} without any
+ * criteria are kept as well, so repopulating a list of rarely changing rows is served from memory
+ * <p>
+ * Rows are stored as snapshots of their column values rather than as model instances, so every cache hit yields a
+ * new instance (or the instance registered in the open {@link IdentityMap}) that can be modified freely. Entries are
+ * invalidated by the insert, update and delete operations of {@link Model}, both before their statements run and after
+ * they are committed, since a selection running concurrently on another pooled connection may cache the old rows in
+ * between.
+ */
+public class EntityCache {
+    /**
+     * Maximum number of rows kept in the cache across all model classes
+     */
+    public static final int MAX_ENTRIES = 10000;
+
+    private static final LinkedHashMap<List<Object>, Object[]> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, Object[]> eldest) {
+            if (size() > MAX_ENTRIES) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    };
+    private static final HashMap<Class<? extends Model>, Object[]> selections = new HashMap<>();
+
+    private static long hits;
+    private static long misses;
+    private static long evictions;
+
+    private static List<Object> getKey(ModelMetadata metadata, Object id) {
+        return List.of(metadata.modelClass, Model.toKey(id));
+    }
+
+    /**
+     * Creates a model instance from a snapshot, or gets the instance registered for it in the open {@link IdentityMap}
+     */
+    private static <T extends Model> T newInstance(ModelMetadata metadata, Object id, Object[] values) {
+        IdentityMap identityMap = IdentityMap.current();
+        if (identityMap != null) {
+            @SuppressWarnings("unchecked")
+            T model = identityMap.get((Class<T>) metadata.modelClass, id);
+            if (model != null) {
+                return model;
+            }
+        }
+
+        T model = metadata.newInstance();
+        for (Column column : metadata.columns) {
+            column.set(model, values[column.index]);
+        }
+        model.takeSnapshot(metadata);
+        return identityMap != null ? identityMap.register(model, id) : model;
+    }
+
+    /**
+     * @param metadata Reflection data of the model class
+     * @param id       The primary key value
+     * @param <T>      the type of the model extending {@link Model}
+     * @return The cached row as a model instance, or {@code null} if the row is not cached
+     */
+    static synchronized <T extends Model> T get(ModelMetadata metadata, Object id) {
+        if (!metadata.cacheable || id == null) {
+            return null;
+        }
+        Object[] values = entries.get(getKey(metadata, id));
+        if (values == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return newInstance(metadata, id, values);
+    }
+
+    /**
+     * Caches (or refreshes) the row of a model instance mapped with all of its columns
+     */
+    static synchronized void put(ModelMetadata metadata, Model model) {
+        if (!metadata.cacheable) {
+            return;
+        }
+        Object id = metadata.primaryKeys[0].get(model);
+        if (id != null) {
+            entries.put(getKey(metadata, id), metadata.getValues(model, metadata.columns));
+        }
+    }
+
+    /**
+     * @param metadata Reflection data of the model class
+     * @param <T>      the type of the model extending {@link Model}
+     * @return The rows returned by the last cached selection of all rows, or {@code null} if that selection is not
+     * cached or any of its rows were evicted
+     */
+    static synchronized <T extends Model> ArrayList<T> getSelection(ModelMetadata metadata) {
+        if (!metadata.cacheable) {
+            return null;
+        }
+        Object[] ids = selections.get(metadata.modelClass);
+        if (ids == null) {
+            misses++;
+            return null;
+        }
+
+        ArrayList<Object[]> rows = new ArrayList<>(ids.length);
+        for (Object id : ids) {
+            Object[] values = entries.get(getKey(metadata, id));
+            if (values == null) {
+                selections.remove(metadata.modelClass);
+                misses++;
+                return null;
+            }
+            rows.add(values);
+        }
+        hits++;
+
+        ArrayList<T> results = new ArrayList<>(ids.length);
+        for (int index = 0; index < ids.length; index++) {
+            results.add(newInstance(metadata, ids[index], rows.get(index)));
+        }
+        return results;
+    }
+
+    /**
+     * Caches the rows returned by a selection of all rows, in order
+     */
+    static synchronized void putSelection(ModelMetadata metadata, List<? extends Model> models) {
+        if (!metadata.cacheable) {
+            return;
+        }
+        Object[] ids = new Object[models.size()];
+        for (int index = 0; index < ids.length; index++) {
+            Model model = models.get(index);
+            ids[index] = metadata.primaryKeys[0].get(model);
+            put(metadata, model);
+        }
+        selections.put(metadata.modelClass, ids);
+    }
+
+    /**
+     * Removes the row of a model instance that is being inserted, updated or deleted, along with the cached selection
+     * of all rows of its class
+     */
+    static synchronized void invalidate(ModelMetadata metadata, Model model) {
+        if (!metadata.cacheable) {
+            return;
+        }
+        selections.remove(metadata.modelClass);
+        Object id = metadata.primaryKeys[0].get(model);
+        if (id != null) {
+            entries.remove(getKey(metadata, id));
+        }
+    }
+
+    /**
+     * Removes the rows of model instances, as {@link #invalidate(ModelMetadata, Model)} does
+     */
+    static synchronized void invalidate(ModelMetadata metadata, Collection<? extends Model> models) {
+        for (Model model : models) {
+            invalidate(metadata, model);
+        }
+    }
+
+    /**
+     * Removes all the rows of a model class, e.g. after a statement affecting an unknown set of its rows
+     */
+    static synchronized void invalidateAll(ModelMetadata metadata) {
+        if (!metadata.cacheable) {
+            return;
+        }
+        selections.remove(metadata.modelClass);
+        entries.keySet().removeIf(key -> key.get(0) == metadata.modelClass);
+    }
+
+    public static synchronized void clear() {
+        entries.clear();
+        selections.clear();
+    }
+
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    public static synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return A summary of the cache size and hit/miss statistics, e.g. for debugging output
+     */
+    public static synchronized String getStatistics() {
+        long lookups = hits + misses;
+        return "%d/%d entries, %d hits, %d misses (%.1f%% hit rate), %d evictions".formatted(entries.size(), MAX_ENTRIES,
+                hits, misses, lookups == 0 ? 0.0 : hits * 100.0 / lookups, evictions);
+    }
+}
@@ -8,6 +8,8 @@ import java.util.ArrayList;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+@Cacheable
+@FetchSize(500)
 public class FoodItem extends Model {
     @Ignore public static final String TABLE = "food_item";
 
@@ -41,6 +43,9 @@ public class FoodItem extends Model {
     }
 
     public void getDetails(String labelText, Number quantity) {
+        if (!load()) {
+            return;
+        }
         if (quantity == null) {
             quantity = 1;
         }
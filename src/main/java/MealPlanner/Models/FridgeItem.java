@@ -13,17 +13,22 @@ public class FridgeItem extends Model {
 
     public FoodItem getFoodItem() {
         if (foodItem == null) {
-            FoodItem foodItemCriteria = new FoodItem();
-            foodItemCriteria.id = food_id;
-            FoodItem[] foodItems = foodItemCriteria.select();
-            if (foodItems == null || foodItems.length == 0) {
+            foodItem = find(FoodItem.class, food_id);
+            if (foodItem == null) {
                 throw new RuntimeException("Fridge item does not have a food item associated with it! Fridge ID: %s, Food ID: %s".formatted(id, food_id));
             }
-            foodItem = foodItems[0];
         }
         return foodItem;
     }
 
+    /**
+     * Resolves {@link #getFoodItem()} for many fridge items at once; see {@link Model#loadReferences}
+     */
+    public static boolean loadFoodItems(FridgeItem[] fridgeItems) {
+        return loadReferences(fridgeItems, fridgeItem -> fridgeItem.foodItem == null ? fridgeItem.food_id : null,
+                FoodItem.class, (fridgeItem, foodItem) -> fridgeItem.foodItem = foodItem);
+    }
+
     public void clearCache() {
         foodItem = null;
     }
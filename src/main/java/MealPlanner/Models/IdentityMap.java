@@ -0,0 +1,88 @@
+package MealPlanner.Models;
+
+import java.util.HashMap;
+
+/**
+ * Maps primary keys to model instances for the duration of a scope (e.g., one repopulation of a tab), so that every
+ * row selected within the scope is materialized as one shared model instance and referenced rows are only selected
+ * once; see {@link #open()}
+ * <p>
+ * Only rows mapped with all of their columns are registered, as instances selected with
+ * {@link Model#selectColumns(String...)} are incomplete.
+ */
+public class IdentityMap implements AutoCloseable {
+    /**
+     * The innermost open scope of each thread, so rows selected on other threads (e.g., while the EDT populates a tab)
+     * are neither registered in nor read from it
+     */
+    private static final ThreadLocal<IdentityMap> current = new ThreadLocal<>();
+
+    private final IdentityMap previous;
+    private final HashMap<Class<? extends Model>, HashMap<Object, Model>> models = new HashMap<>();
+
+    private IdentityMap(IdentityMap previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Opens a new scope on the current thread, which lasts until the returned identity map is closed; scopes opened
+     * within an open scope replace it until they are closed
+     *
+     * @return The identity map of the new scope, meant to be used in a try-with-resources statement
+     */
+    public static IdentityMap open() {
+        IdentityMap identityMap = new IdentityMap(current.get());
+        current.set(identityMap);
+        return identityMap;
+    }
+
+    /**
+     * @return The identity map of the innermost scope open on the current thread, or {@code null} if no scope is open
+     */
+    static IdentityMap current() {
+        return current.get();
+    }
+
+    /**
+     * @param modelClass The model class
+     * @param id         The primary key value
+     * @param <T>        the type of the model extending {@link Model}
+     * @return The registered instance of the model class with the primary key value, or {@code null} if none
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Model> T get(Class<T> modelClass, Object id) {
+        HashMap<Object, Model> classModels = models.get(modelClass);
+        if (classModels == null) {
+            return null;
+        }
+        return (T) classModels.get(Model.toKey(id));
+    }
+
+    /**
+     * Registers a model instance, unless an instance with the same primary key value was registered before
+     *
+     * @param model The model instance
+     * @param id    The primary key value of the model instance
+     * @param <T>   the type of the model extending {@link Model}
+     * @return The instance registered for the primary key value, which should be used instead of the given instance
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Model> T register(T model, Object id) {
+        if (id == null) {
+            return model;
+        }
+        HashMap<Object, Model> classModels = models.computeIfAbsent(model.getClass(), key -> new HashMap<>());
+        return (T) classModels.computeIfAbsent(Model.toKey(id), key -> model);
+    }
+
+    @Override
+    public void close() {
+        if (current.get() == this) {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+}
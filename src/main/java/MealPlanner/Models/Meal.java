@@ -15,17 +15,22 @@ public class Meal extends Model {
 
     public Recipe getRecipe() {
         if (recipe == null) {
-            Recipe recipeCriteria = new Recipe();
-            recipeCriteria.id = recipe_id;
-            Recipe[] recipes = recipeCriteria.select();
-            if (recipes == null || recipes.length == 0) {
+            recipe = find(Recipe.class, recipe_id);
+            if (recipe == null) {
                 throw new RuntimeException("Meal does not have a recipe associated with it! Meal ID: %s, Recipe ID: %s".formatted(id, recipe_id));
             }
-            recipe = recipes[0];
         }
         return recipe;
     }
 
+    /**
+     * Resolves {@link #getRecipe()} for many meals at once; see {@link Model#loadReferences}
+     */
+    public static boolean loadRecipes(Meal[] meals) {
+        return loadReferences(meals, meal -> meal.recipe == null ? meal.recipe_id : null,
+                Recipe.class, (meal, recipe) -> meal.recipe = recipe);
+    }
+
     public void clearCache() {
         recipe = null;
     }
@@ -7,6 +7,8 @@ import MealPlanner.Models.Annotations.PrimaryKey;
 
 import java.sql.Date;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 public class MealPlan extends Model {
     @Ignore public static final String TABLE = "meal_plan";
@@ -38,6 +40,37 @@ public class MealPlan extends Model {
         return meals;
     }
 
+    /**
+     * Resolves {@link #getMeals()} for many meal plans at once, along with the recipes of the meals;
+     * see {@link Model#loadCollections}
+     */
+    public static boolean fetchMeals(MealPlan[] mealPlans) {
+        if (!loadCollections(mealPlans, mealPlan -> mealPlan.meals == null ? mealPlan.id : null,
+                Meal.class, "plan_id", (mealPlan, meals) -> mealPlan.meals = meals)) {
+            return false;
+        }
+
+        ArrayList<Meal> meals = new ArrayList<>();
+        for (MealPlan mealPlan : mealPlans) {
+            if (mealPlan.meals != null) {
+                meals.addAll(Arrays.asList(mealPlan.meals));
+            }
+        }
+        return Meal.loadRecipes(meals.toArray(new Meal[0]));
+    }
+
+    /**
+     * Selects like {@link Model#select()}, fetching the meals (with their recipes) of all the selected meal plans in
+     * a constant number of queries
+     */
+    public MealPlan[] selectWithMeals() {
+        MealPlan[] mealPlans = select();
+        if (mealPlans == null || !fetchMeals(mealPlans)) {
+            return null;
+        }
+        return mealPlans;
+    }
+
     public void clearCache() {
         weekEnd = null;
         meals = null;
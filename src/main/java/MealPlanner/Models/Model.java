@@ -1,472 +1,1534 @@
 package MealPlanner.Models;
 
 import MealPlanner.DatabaseHelper;
+import MealPlanner.PooledConnection;
 import MealPlanner.Models.Annotations.*;
-import oracle.jdbc.OraclePreparedStatement;
+import MealPlanner.Models.ModelMetadata.Column;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
+import java.io.Serial;
+import java.math.BigDecimal;
 import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static MealPlanner.Main.displayErrorDialog;
 
 public abstract class Model {
-    private Class<? extends Model> modelClass;
-    private String modelName;
-    private String table;
+    /**
+     * Maximum number of rows sent per round trip by {@link #insertAll(Collection)}, {@link #updateAll(Collection)}
+     * and {@link #deleteAll(Collection)}
+     */
+    public static final int BATCH_SIZE = 100;
+
+    /**
+     * Number of rows fetched from the database per round trip by the selections of model classes without a
+     * {@link FetchSize} annotation or {@code fetchSize.<table>} property; see {@link ModelMetadata#getFetchSize()}
+     */
+    public static final int DEFAULT_FETCH_SIZE = 100;
+
+    /**
+     * Maximum number of values in one {@code IN (...)} list; Oracle does not allow more than 1000
+     */
+    public static final int MAX_IN_LIST_SIZE = 1000;
+
+    /**
+     * Columns left out when the current instance was selected with {@link #selectColumns(String...)}, or
+     * {@code null} if all the columns are loaded; see {@link #load()}
+     */
+    private Column[] unloadedColumns;
+    /**
+     * Column values of the current instance as of when it was last selected, loaded, inserted or updated (indexed by
+     * {@link Column#index}), or {@code null} if unknown; used by {@link #update()} to only write modified columns
+     */
+    private Object[] snapshot;
+
+    /**
+     * Records the current column values as the values stored in the database; see {@link #getDirtyColumns(ModelMetadata)}
+     * <p>
+     * For an instance selected with {@link #selectColumns(String...)}, the unloaded columns are recorded as
+     * {@code null} until {@link #load()} records their stored values.
+     */
+    void takeSnapshot(ModelMetadata metadata) {
+        snapshot = metadata.getValues(this, metadata.columns);
+    }
+
+    /**
+     * Compares column values, treating numbers of different types (e.g., a {@link java.math.BigDecimal} read from the
+     * database and a {@link Double} parsed from user input) as equal if their numerical values are equal
+     */
+    private static boolean valuesEqual(Object value, Object otherValue) {
+        if (value instanceof Number && otherValue instanceof Number) {
+            return new BigDecimal(value.toString()).compareTo(new BigDecimal(otherValue.toString())) == 0;
+        }
+        return Objects.equals(value, otherValue);
+    }
+
+    /**
+     * @return The non-key columns modified since the last snapshot of the current instance, or all the non-key columns
+     * if there is no snapshot
+     */
+    private Column[] getDirtyColumns(ModelMetadata metadata) {
+        if (snapshot == null) {
+            return metadata.nonKeyColumns;
+        }
+        ArrayList<Column> dirtyColumns = new ArrayList<>();
+        for (Column column : metadata.nonKeyColumns) {
+            if (!valuesEqual(column.get(this), snapshot[column.index])) {
+                dirtyColumns.add(column);
+            }
+        }
+        return dirtyColumns.size() == metadata.nonKeyColumns.length ? metadata.nonKeyColumns : dirtyColumns.toArray(new Column[0]);
+    }
+
+    /**
+     * @return Whether any non-key column of the current instance was modified since it was last selected, loaded,
+     * inserted or updated; {@code true} if that is unknown
+     */
+    public boolean isDirty() {
+        ModelMetadata metadata = getMetadata();
+        return metadata == null || getDirtyColumns(metadata).length > 0;
+    }
+
+    /**
+     * @return The shared reflection data for the class of the current instance (see {@link ModelMetadata#get(Class)}),
+     * or {@code null} if an error occurred while gathering it
+     */
+    protected ModelMetadata getMetadata() {
+        return ModelMetadata.get(getClass());
+    }
+
+    /**
+     * Builds the WHERE condition used by {@link #select()}, {@link #stream(int)} and {@link #selectPage(int, Page.Token)};
+     * non-null fields of the current instance are used as criteria, with string values containing {@code %} or
+     * {@code _} being matched using LIKE
+     *
+     * @param metadata    The reflection data of the current instance
+     * @param whereValues List to add the values of the condition parameters to
+     * @return The WHERE condition (without the WHERE keyword), or an empty string if there are no criteria
+     */
+    private String buildWhereCondition(ModelMetadata metadata, ArrayList<Object> whereValues) {
+        StringBuilder whereBuilder = new StringBuilder();
+        for (Column column : metadata.columns) {
+            Object value = column.get(this);
+            if (value != null) {
+                if (!whereBuilder.isEmpty()) {
+                    whereBuilder.append(" AND ");
+                }
+                if (value instanceof String && (((String) value).contains("%") || ((String) value).contains("_"))) {
+                    whereBuilder.append("%s LIKE ?".formatted(column.name));
+                } else {
+                    whereBuilder.append("%s = ?".formatted(column.name));
+                }
+                whereValues.add(value);
+            }
+        }
+        return whereBuilder.toString();
+    }
+
+    /**
+     * Builds the SQL SELECT statement used by {@link #select()} and {@link #stream(int)}; see
+     * {@link #buildWhereCondition(ModelMetadata, ArrayList)}
+     *
+     * @param metadata    The reflection data of the current instance
+     * @param columns     The columns to select
+     * @param whereValues List to add the values of the WHERE clause parameters to
+     * @return The SQL SELECT statement
+     */
+    private String buildSelectSql(ModelMetadata metadata, Column[] columns, ArrayList<Object> whereValues) {
+        String whereCondition = buildWhereCondition(metadata, whereValues);
+        return "%s%s%s".formatted(metadata.getSelectSql(columns),
+                whereCondition.isEmpty() ? "" : " WHERE %s".formatted(whereCondition),
+                metadata.orderByClause);
+    }
+
+    /**
+     * Executes a database SELECT operation for the current model instance by dynamically
+     * constructing a query based on the fields of the associated model class. Fields marked
+     * with {@link Ignore} are excluded. Optionally, fields annotated with {@link OrderBy} are
+     * used for ordering the results.
+     * <p>
+     * The query's WHERE clause is populated dynamically based on the fields' values, while the
+     * ORDER BY clause is taken from the shared {@link ModelMetadata}. Results are mapped back to
+     * model objects of the associated type using a {@link RowMapper}.
+     * <p>
+     * In case of SQL exceptions, an appropriate error dialog is displayed, and the method
+     * will return {@code null}.
+     *
+     * @param <T> the type of the model extending {@link Model}
+     * @return an array of objects of type {@code T} representing the query result, or {@code null}
+     * if an error occurs during the process.
+     */
+    public <T extends Model> T[] select() {
+        ModelMetadata metadata = getMetadata();
+        if (metadata == null) {
+            return null;
+        }
+        return select(metadata, metadata.columns, metadata.getFetchSize());
+    }
+
+    /**
+     * Executes the same SELECT operation as {@link #select()}, with a fetch size hint overriding the
+     * {@link ModelMetadata#getFetchSize()} of the model class, e.g. for a selection known to return few or many rows
+     *
+     * @param fetchSize Number of rows fetched from the database per round trip; see {@link ResultSet#setFetchSize(int)}
+     * @param <T>       the type of the model extending {@link Model}
+     * @return an array of objects of type {@code T} representing the query result, or {@code null}
+     * if an error occurs during the process.
+     */
+    public <T extends Model> T[] select(int fetchSize) {
+        ModelMetadata metadata = getMetadata();
+        if (metadata == null) {
+            return null;
+        }
+        return select(metadata, metadata.columns, fetchSize);
+    }
+
+    /**
+     * Executes the same SELECT operation as {@link #select()}, but only selects the primary key column(s) and the
+     * named columns, leaving the other fields of the results {@code null}; this is meant for lists that only display
+     * some of the columns, with the other columns being filled in on demand by {@link #load()}
+     *
+     * @param columnNames Names of the columns to select in addition to the primary key column(s)
+     * @param <T>         the type of the model extending {@link Model}
+     * @return an array of objects of type {@code T} representing the query result, or {@code null}
+     * if an error occurs during the process.
+     */
+    public <T extends Model> T[] selectColumns(String... columnNames) {
+        ModelMetadata metadata = getMetadata();
+        if (metadata == null) {
+            return null;
+        }
+
+        Column[] columns = metadata.getProjection(columnNames);
+        if (columns == null) {
+            displayErrorDialog("Invalid projection column(s) for class %s: %s", metadata.modelName, String.join(", ", columnNames));
+            return null;
+        }
+        return select(metadata, columns, metadata.getFetchSize());
+    }
+
+    /**
+     * Helper method for {@link #select()}, {@link #select(int)} and {@link #selectColumns(String...)}
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Model> T[] select(ModelMetadata metadata, Column[] columns, int fetchSize) {
+        Column[] unloadedColumns = null;
+        if (columns.length < metadata.columns.length) {
+            ArrayList<Column> unloadedList = new ArrayList<>(List.of(metadata.columns));
+            unloadedList.removeAll(List.of(columns));
+            unloadedColumns = unloadedList.toArray(new Column[0]);
+        }
+
+        ArrayList<Object> whereValues = new ArrayList<>();
+        String sql = buildSelectSql(metadata, columns, whereValues);
+        boolean selectsAll = whereValues.isEmpty() && columns == metadata.columns;
+
+        ArrayList<T> results = selectsAll ? EntityCache.getSelection(metadata) : null;
+        if (results == null) {
+            results = new ArrayList<>();
+            try (PooledConnection connection = DatabaseHelper.getConnection();
+                 PreparedStatement statement = DatabaseHelper.prepareStatement(connection, sql, whereValues.toArray())) {
+                statement.setFetchSize(fetchSize);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    RowMapper<T> rowMapper = new RowMapper<>(metadata, columns, resultSet);
+                    while (resultSet.next()) {
+                        T result = rowMapper.map(resultSet);
+                        if (unloadedColumns != null) {
+                            ((Model) result).unloadedColumns = unloadedColumns;
+                            ((Model) result).takeSnapshot(metadata);
+                        }
+                        results.add(result);
+                    }
+                }
+            } catch (SQLException exception) {
+                displayErrorDialog("Encountered an error while performing a selection for %s!\n\n%s", metadata.modelName, exception);
+                return null;
+            }
+            if (selectsAll) {
+                EntityCache.putSelection(metadata, results);
+            }
+        }
+
+        T[] array = (T[]) java.lang.reflect.Array.newInstance(metadata.modelClass, results.size());
+        return results.toArray(array);
+    }
+
+    /**
+     * Fills in the fields left out when the current instance was selected with {@link #selectColumns(String...)},
+     * selecting them by primary key; does nothing if the current instance was not selected with a projection
+     * <p>
+     * Fields left out of the projection but assigned since (i.e., no longer {@code null}) keep their assigned value, so
+     * an edit made before the instance is loaded (e.g., by {@link #update()}) is not lost.
+     * <p>
+     * In case of SQL exceptions, an appropriate error dialog is displayed, and the method will return {@code false}.
+     *
+     * @return {@code true} if all the fields of the current instance are loaded; {@code false} otherwise.
+     */
+    public boolean load() {
+        if (unloadedColumns == null) {
+            return true;
+        }
+
+        ModelMetadata metadata = getMetadata();
+        if (metadata == null) {
+            return false;
+        }
+
+        String sql = "%s%s".formatted(metadata.getSelectSql(unloadedColumns), metadata.primaryKeyWhereClause);
+        try (PooledConnection connection = DatabaseHelper.getConnection();
+             PreparedStatement statement = DatabaseHelper.prepareStatement(connection, sql, metadata.getValues(this, metadata.primaryKeys))) {
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    displayErrorDialog("Failed to load the remaining fields for %s!", metadata.modelName);
+                    return false;
+                }
+                for (int index = 0; index < unloadedColumns.length; index++) {
+                    Column column = unloadedColumns[index];
+                    Object value = column.type == Date.class ? resultSet.getDate(index + 1) : resultSet.getObject(index + 1);
+                    // unloaded fields are null when selected, so a non-null field was assigned by the caller and is kept
+                    if (column.get(this) == null) {
+                        column.set(this, value);
+                    }
+                    if (snapshot != null) {
+                        snapshot[column.index] = value;
+                    }
+                }
+            }
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while loading the remaining fields for %s!\n\n%s", metadata.modelName, exception);
+            return false;
+        }
+        unloadedColumns = null;
+        // the snapshot holds the stored values rather than the current ones, so edits made before loading stay dirty
+        if (snapshot == null) {
+            takeSnapshot(metadata);
+        }
+        return true;
+    }
+
+    /**
+     * Executes the same SELECT operation as {@link #select()}, but only returns up to {@code pageSize} results
+     * starting after the position marked by a continuation token.
+     * <p>
+     * If the model has a usable keyset (see {@link ModelMetadata#keysetColumns}), the results are ordered by the
+     * keyset and the next page is sought directly using the keyset values of the last row of the previous page, so
+     * the cost of a page does not grow with how far into the results it is; otherwise, the results are ordered as
+     * they are by {@link #select()}, and the offset clause of the {@link MealPlanner.Dialects.Dialect} is used instead.
+     * <p>
+     * In case of SQL exceptions, an appropriate error dialog is displayed, and the method will return {@code null}.
+     *
+     * @param pageSize Maximum number of results to return
+     * @param token    The continuation token of the previous page (see {@link Page#next}), or {@code null} to get
+     *                 the first page
+     * @param <T>      the type of the model extending {@link Model}
+     * @return The page of results, or {@code null} if an error occurs during the process.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Model> Page<T> selectPage(int pageSize, Page.Token token) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be greater than 0!");
+        }
+
+        ModelMetadata metadata = getMetadata();
+        if (metadata == null) {
+            return null;
+        }
+
+        ArrayList<Object> parameters = new ArrayList<>();
+        StringBuilder whereBuilder = new StringBuilder(buildWhereCondition(metadata, parameters));
+        int offset = token == null ? 0 : token.offset;
+
+        StringBuilder sqlBuilder = new StringBuilder(metadata.selectSql);
+        if (metadata.keysetColumns != null) {
+            if (token != null) {
+                // (a > ?) OR (a = ? AND b > ?) OR (a = ? AND b = ? AND c > ?) ...
+                StringBuilder keysetBuilder = new StringBuilder();
+                for (int index = 0; index < metadata.keysetColumns.length; index++) {
+                    if (!keysetBuilder.isEmpty()) {
+                        keysetBuilder.append(" OR ");
+                    }
+                    keysetBuilder.append("(");
+                    for (int previousIndex = 0; previousIndex < index; previousIndex++) {
+                        keysetBuilder.append("%s = ? AND ".formatted(metadata.keysetColumns[previousIndex].name));
+                        parameters.add(token.keyValues[previousIndex]);
+                    }
+                    keysetBuilder.append("%s %s ?)".formatted(metadata.keysetColumns[index].name,
+                            metadata.keysetDescending[index] ? "<" : ">"));
+                    parameters.add(token.keyValues[index]);
+                }
+
+                if (!whereBuilder.isEmpty()) {
+                    whereBuilder.append(" AND ");
+                }
+                whereBuilder.append("(").append(keysetBuilder).append(")");
+            }
+            if (!whereBuilder.isEmpty()) {
+                sqlBuilder.append(" WHERE ").append(whereBuilder);
+            }
+            sqlBuilder.append(metadata.keysetOrderByClause).append(DatabaseHelper.getDialect().getLimitClause());
+        } else {
+            if (!whereBuilder.isEmpty()) {
+                sqlBuilder.append(" WHERE ").append(whereBuilder);
+            }
+            sqlBuilder.append(metadata.orderByClause).append(DatabaseHelper.getDialect().getOffsetLimitClause());
+            parameters.add(offset);
+        }
+        parameters.add(pageSize + 1); // one extra row to find out whether there is a next page
+
+        ArrayList<T> results = new ArrayList<>();
+        boolean hasNext = false;
+        try (PooledConnection connection = DatabaseHelper.getConnection();
+             PreparedStatement statement = DatabaseHelper.prepareStatement(connection, sqlBuilder.toString(), parameters.toArray())) {
+            statement.setFetchSize(pageSize + 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                RowMapper<T> rowMapper = new RowMapper<>(metadata, resultSet);
+                while (resultSet.next()) {
+                    if (results.size() == pageSize) {
+                        hasNext = true;
+                        break;
+                    }
+                    results.add(rowMapper.map(resultSet));
+                }
+            }
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while performing a selection for %s!\n\n%s", metadata.modelName, exception);
+            return null;
+        }
+
+        Page.Token next = null;
+        if (hasNext) {
+            Object[] keyValues = metadata.keysetColumns == null ? null
+                    : metadata.getValues(results.get(results.size() - 1), metadata.keysetColumns);
+            next = new Page.Token(keyValues, offset + results.size());
+        }
+
+        T[] array = (T[]) java.lang.reflect.Array.newInstance(metadata.modelClass, results.size());
+        return new Page<>(results.toArray(array), next);
+    }
+
+    /**
+     * Streams the results of the same SELECT operation as {@link #select()}, mapping each row as it is read from
+     * the database instead of buffering every row first; the database cursor and its pooled connection are held until
+     * the stream is closed, so the stream must be closed by the caller (e.g., with a try-with-resources statement)
+     * <p>
+     * In case of SQL exceptions, an appropriate error dialog is displayed, and the method will return {@code null};
+     * if an SQL exception occurs while reading a row, an error dialog is displayed and the terminal operation of the
+     * stream throws a {@link StreamException}, so a partial result is not mistaken for the whole selection.
+     *
+     * @param fetchSize Number of rows fetched from the database per round trip; see {@link ResultSet#setFetchSize(int)}
+     * @param <T>       the type of the model extending {@link Model}
+     * @return A sequential stream of objects of type {@code T} representing the query result, or {@code null}
+     * if an error occurs while executing the query.
+     */
+    public <T extends Model> Stream<T> stream(int fetchSize) {
+        ModelMetadata metadata = getMetadata();
+        if (metadata == null) {
+            return null;
+        }
+
+        ArrayList<Object> whereValues = new ArrayList<>();
+        String sql = buildSelectSql(metadata, metadata.columns, whereValues);
+
+        // a selection of all rows of a cacheable class is served from, or recorded into, the EntityCache
+        boolean cachesSelection = whereValues.isEmpty() && metadata.cacheable;
+        if (cachesSelection) {
+            ArrayList<T> cached = EntityCache.getSelection(metadata);
+            if (cached != null) {
+                return cached.stream();
+            }
+        }
+
+        PooledConnection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = DatabaseHelper.getConnection();
+            statement = DatabaseHelper.prepareStatement(connection, sql, whereValues.toArray());
+            statement.setFetchSize(fetchSize);
+            ResultSet resultSet = statement.executeQuery();
+            RowMapper<T> rowMapper = new RowMapper<>(metadata, resultSet);
+            ArrayList<T> selection = cachesSelection ? new ArrayList<>() : null;
+
+            Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        if (!resultSet.next()) {
+                            if (selection != null) {
+                                EntityCache.putSelection(metadata, selection);
+                            }
+                            return false;
+                        }
+                        T result = rowMapper.map(resultSet);
+                        if (selection != null) {
+                            selection.add(result);
+                        }
+                        action.accept(result);
+                        return true;
+                    } catch (SQLException exception) {
+                        displayErrorDialog("Encountered an error while streaming selection results for %s!\n\n%s", metadata.modelName, exception);
+                        throw new StreamException(exception);
+                    }
+                }
+            };
+
+            // the connection stays borrowed until the stream is closed
+            PooledConnection streamConnection = connection; // for lambdas
+            PreparedStatement streamStatement = statement; // for lambdas
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    streamStatement.close();
+                } catch (SQLException exception) {
+                    displayErrorDialog("Encountered an error while closing a selection stream for %s!\n\n%s", metadata.modelName, exception);
+                } finally {
+                    streamConnection.close();
+                }
+            });
+        } catch (SQLException exception) {
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException ignored) {
+                }
+            }
+            if (connection != null) {
+                connection.close();
+            }
+            displayErrorDialog("Encountered an error while performing a selection for %s!\n\n%s", metadata.modelName, exception);
+            return null;
+        }
+    }
+
+    /**
+     * Passes the {@link ModelMetadata#getFetchSize()} of the model class to {@link #stream(int)}
+     */
+    public <T extends Model> Stream<T> stream() {
+        ModelMetadata metadata = getMetadata();
+        if (metadata == null) {
+            return null;
+        }
+        return stream(metadata.getFetchSize());
+    }
+
+    /**
+     * Passes each result of {@link #stream()} to a callback as it is read from the database, closing the stream
+     * afterward
+     * <p>
+     * The stream holds a pooled connection until it is closed, so the callback must not borrow another connection
+     * (e.g., by selecting or saving models), which could wait for the whole borrow timeout when the pool is exhausted;
+     * collect the results first instead, and query their children afterward.
+     *
+     * @param consumer The callback to pass each result to
+     * @param <T>      the type of the model extending {@link Model}
+     * @return {@code true} if every result was read; {@code false} if the query failed or an error occurred while
+     * reading the results, in which case only the results read before the error were passed to the callback.
+     */
+    public <T extends Model> boolean forEach(Consumer<T> consumer) {
+        try (Stream<T> stream = stream()) {
+            if (stream == null) {
+                return false;
+            }
+            stream.forEach(consumer);
+        } catch (StreamException exception) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Thrown by the terminal operation of a stream returned by {@link #stream(int)} when an SQL exception occurs while
+     * reading a row; the error dialog has already been displayed
+     */
+    public static class StreamException extends RuntimeException {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        StreamException(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+
+    /**
+     * Validates the current instance of the model by checking its fields against
+     * specified constraints, such as annotations {@code @NotNull}, {@code @CheckString},
+     * and {@code @CheckNumberBetween}.
+     * <p>
+     * The method applies the {@link Validator} compiled once in the shared {@link ModelMetadata},
+     * which applies the following validation criteria:
+     * - Fields annotated with {@code @NotNull} must not be null or blank.
+     * - Fields annotated with {@code @CheckString} must match one of the allowed values.
+     * - Fields annotated with {@code @CheckNumberBetween} must fall within the specified range.
+     * - Fields annotated with {@code @Ignore} are skipped during validation.
+     * <p>
+     * If a validation failure occurs, an error dialog is displayed with the
+     * corresponding message, and the method returns {@code false}.
+     *
+     * @return {@code true} if all validation criteria are met; {@code false} otherwise.
+     */
+    public boolean validate() {
+        ModelMetadata metadata = getMetadata();
+        if (metadata == null) {
+            return false;
+        }
+
+        Validator.Violation violation = metadata.validator.validate(this, null);
+        if (violation != null) {
+            displayErrorDialog(violation.message);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Validates all the given models as {@link #validate()} does, but collects every violation instead of displaying
+     * an error dialog for the first one, e.g. for reporting the invalid rows of a bulk import at once
+     *
+     * @param models The models to validate, of any model class(es)
+     * @return The violations of all the models (empty if all the models are valid), or {@code null} if the reflection
+     * data of a model class could not be gathered
+     */
+    public static ArrayList<Validator.Violation> validateAll(Collection<? extends Model> models) {
+        ArrayList<Validator.Violation> violations = new ArrayList<>();
+        for (Model model : models) {
+            ModelMetadata metadata = model.getMetadata();
+            if (metadata == null) {
+                return null;
+            }
+            metadata.validator.validate(model, violations);
+        }
+        return violations;
+    }
+
+    /**
+     * Inserts the current instance of the model into the associated database table using the
+     * SQL INSERT statement prepared in the shared {@link ModelMetadata}. Fields annotated with
+     * {@link Ignore} are skipped during insertion. Fields annotated with {@link PrimaryKey} are
+     * included conditionally, depending on whether their values are provided.
+     * <p>
+     * If the insertion is successful, any auto-generated keys are retrieved and populated
+     * back into the respective fields of the model instance.
+     * <p>
+     * SQL-related exceptions or missing required fields will result in an
+     * error message being displayed, and the method will return {@code false}.
+     *
+     * @return {@code true} if the model was successfully inserted into the database;
+     * {@code false} otherwise.
+     */
+    public boolean insert() {
+        ModelMetadata metadata = getMetadata();
+        if (metadata == null) {
+            return false;
+        }
+
+        ArrayList<Column> returnColumns = new ArrayList<>();
+        ArrayList<Column> parameterColumns = new ArrayList<>();
+        ArrayList<Object> parameterValues = new ArrayList<>();
+
+        for (Column column : metadata.columns) {
+            Object value = column.get(this);
+            if (column.primaryKey && value == null) {
+                returnColumns.add(column);
+                continue;
+            }
+            parameterColumns.add(column);
+            parameterValues.add(value);
+        }
+
+        if (parameterColumns.isEmpty()) {
+            displayErrorDialog("Missing parameter fields for class %s!", metadata.modelName);
+            return false;
+        }
+
+        String sql;
+        String[] returnColumnNames;
+        if (returnColumns.size() == metadata.primaryKeys.length) {
+            sql = metadata.insertSql;
+            returnColumnNames = metadata.primaryKeyNames;
+        } else if (returnColumns.isEmpty()) {
+            sql = metadata.insertWithKeysSql;
+            returnColumnNames = new String[0];
+        } else {
+            Column[] columns = parameterColumns.toArray(new Column[0]);
+            sql = "INSERT INTO %s (%s) VALUES (%s)".formatted(metadata.table,
+                    ModelMetadata.joinColumns(columns, "%s", ", "), ModelMetadata.joinColumns(columns, "?", ", "));
+            returnColumnNames = new String[returnColumns.size()];
+            for (int index = 0; index < returnColumns.size(); index++) {
+                returnColumnNames[index] = returnColumns.get(index).name;
+            }
+        }
+
+        EntityCache.invalidate(metadata, this);
+        int[] sqlTypes = metadata.getSqlTypes(parameterColumns.toArray(new Column[0]));
+        try (PooledConnection connection = DatabaseHelper.getConnection();
+             PreparedStatement statement = DatabaseHelper.prepareStatement(connection, sql, returnColumnNames, sqlTypes, parameterValues.toArray())) {
+            if (statement.executeUpdate() == 0) {
+                displayErrorDialog("Failed to perform an insertion for %s!", metadata.modelName);
+                return false;
+            }
+
+            if (!returnColumns.isEmpty()) {
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        for (int index = 0; index < returnColumns.size(); index++) {
+                            returnColumns.get(index).set(this, generatedKeys.getBigDecimal(index + 1));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while performing an insertion for %s!\n\n%s", metadata.modelName, exception);
+            return false;
+        } finally {
+            EntityCache.invalidate(metadata, this);
+        }
+        takeSnapshot(metadata);
+        return true;
+    }
+
+    /**
+     * Updates the current instance of the model in the associated database table using the SQL UPDATE
+     * statement prepared in the shared {@link ModelMetadata}. Fields annotated with {@link Ignore} are skipped
+     * during the update, as are fields not modified since the instance was selected, loaded, inserted or last updated
+     * (see {@link #isDirty()}); if no fields were modified, no statement is executed. Primary key fields, annotated with {@link PrimaryKey}, are used in the WHERE clause to
+     * identify the target row(s).
+     * <p>
+     * Missing parameter field(s), missing primary key(s), or database-related exceptions will result in
+     * an error message being displayed, and the method returning {@code false}.
+     *
+     * @return {@code true} if the model was successfully updated in the database; {@code false} otherwise.
+     */
+    public boolean update() {
+        ModelMetadata metadata = getMetadata();
+        if (metadata == null) {
+            return false;
+        }
+
+        if (metadata.nonKeyColumns.length == 0) {
+            displayErrorDialog("Missing parameter fields for class %s!", metadata.modelName);
+            return false;
+        }
+        if (metadata.primaryKeys.length == 0) {
+            displayErrorDialog("Missing primary key field(s) for class %s!", metadata.modelName);
+            return false;
+        }
+
+        if (!load()) {
+            return false;
+        }
+
+        Column[] dirtyColumns = getDirtyColumns(metadata);
+        if (dirtyColumns.length == 0) {
+            return true;
+        }
+
+        EntityCache.invalidate(metadata, this);
+        Object[] parameterValues = metadata.getValues(this, dirtyColumns, metadata.primaryKeys);
+        int[] sqlTypes = metadata.getSqlTypes(dirtyColumns, metadata.primaryKeys);
+        try (PooledConnection connection = DatabaseHelper.getConnection();
+             PreparedStatement statement = DatabaseHelper.prepareStatement(connection, metadata.getUpdateSql(dirtyColumns), null, sqlTypes, parameterValues)) {
+            if (statement.executeUpdate() == 0) {
+                displayErrorDialog("Failed to perform an update for %s!", metadata.modelName);
+                return false;
+            }
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while performing an update for %s!\n\n%s", metadata.modelName, exception);
+            return false;
+        } finally {
+            EntityCache.invalidate(metadata, this);
+        }
+        takeSnapshot(metadata);
+        return true;
+    }
+
+    /**
+     * Deletes the current model instance from the associated database table.
+     * This method uses the fields annotated with {@link PrimaryKey}, as gathered in the
+     * shared {@link ModelMetadata}, in the WHERE clause of the SQL DELETE statement.
+     * <p>
+     * The deletion is performed only if the primary key field(s) are properly defined.
+     * Any database-related errors will result in an error message being displayed,
+     * and the deletion will not be executed.
+     *
+     * @return {@code true} if the deletion was successful; {@code false} otherwise.
+     */
+    public boolean delete() {
+        ModelMetadata metadata = getMetadata();
+        if (metadata == null) {
+            return false;
+        }
+
+        if (metadata.primaryKeys.length == 0) {
+            displayErrorDialog("Missing primary key field(s) for class %s!", metadata.modelName);
+            return false;
+        }
+
+        EntityCache.invalidate(metadata, this);
+        Object[] keyValues = metadata.getValues(this, metadata.primaryKeys);
+        try (PooledConnection connection = DatabaseHelper.getConnection();
+             PreparedStatement statement = DatabaseHelper.prepareStatement(connection, metadata.deleteSql, keyValues)) {
+            if (statement.executeUpdate() == 0) {
+                displayErrorDialog("Failed to perform a deletion for %s!", metadata.modelName);
+                return false;
+            }
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while performing a deletion for %s!\n\n%s", metadata.modelName, exception);
+            return false;
+        } finally {
+            EntityCache.invalidate(metadata, this);
+        }
+        snapshot = null;
+        return true;
+    }
+
+    /**
+     * Gets the model of a class with a primary key value, using the instance registered in the open
+     * {@link IdentityMap} (if any) or the row kept in the {@link EntityCache} (if any) instead of selecting it again
+     * <p>
+     * In case of SQL exceptions, an appropriate error dialog is displayed, and the method will return {@code null}.
+     *
+     * @param modelClass The model class, which must have exactly one primary key field
+     * @param id         The primary key value
+     * @param <T>        the type of the model extending {@link Model}
+     * @return The model, or {@code null} if it does not exist or an error occurs during the process.
+     */
+    public static <T extends Model> T find(Class<T> modelClass, Object id) {
+        if (id == null) {
+            return null;
+        }
+        IdentityMap identityMap = IdentityMap.current();
+        if (identityMap != null) {
+            T model = identityMap.get(modelClass, id);
+            if (model != null) {
+                return model;
+            }
+        }
+
+        ModelMetadata metadata = ModelMetadata.get(modelClass);
+        if (metadata == null) {
+            return null;
+        }
+        if (metadata.primaryKeys.length != 1) {
+            displayErrorDialog("Class %s must have exactly one primary key field to be found by id!", metadata.modelName);
+            return null;
+        }
+        T cached = EntityCache.get(metadata, id);
+        if (cached != null) {
+            return cached;
+        }
+        T criteria = metadata.newInstance();
+        metadata.primaryKeys[0].set(criteria, id);
+        T[] models = criteria.select();
+        if (models == null || models.length == 0) {
+            return null;
+        }
+        return models[0];
+    }
+
+    /**
+     * Normalizes a column value for use as a {@link HashMap} key, so that e.g. an {@link Integer} id set by the
+     * application and a {@link java.math.BigDecimal} id read from the database are considered equal
+     *
+     * @param value The column value
+     * @return The key for the column value
+     */
+    protected static Object toKey(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return value;
+    }
+
+    /**
+     * Selects all models of a class whose value of a column is one of the given values, using one
+     * {@code WHERE column IN (?, ...)} query per {@link #MAX_IN_LIST_SIZE} values; results are ordered by the
+     * {@link OrderBy} columns within each query
+     * <p>
+     * In case of SQL exceptions, an appropriate error dialog is displayed, and the method will return {@code null}.
+     *
+     * @param modelClass The model class to select
+     * @param columnName The name of the column to match
+     * @param values     The values to match; duplicate and {@code null} values are skipped
+     * @param <T>        the type of the model extending {@link Model}
+     * @return The selected models, or {@code null} if an error occurs during the process.
+     */
+    protected static <T extends Model> ArrayList<T> selectWhereIn(Class<T> modelClass, String columnName, Collection<?> values) {
+        ModelMetadata metadata = ModelMetadata.get(modelClass);
+        if (metadata == null) {
+            return null;
+        }
+
+        LinkedHashMap<Object, Object> uniqueValues = new LinkedHashMap<>();
+        for (Object value : values) {
+            if (value != null) {
+                uniqueValues.putIfAbsent(toKey(value), value);
+            }
+        }
+        ArrayList<Object> valueList = new ArrayList<>(uniqueValues.values());
+
+        ArrayList<T> results = new ArrayList<>();
+        for (int start = 0; start < valueList.size(); start += MAX_IN_LIST_SIZE) {
+            List<Object> chunk = valueList.subList(start, Math.min(start + MAX_IN_LIST_SIZE, valueList.size()));
+            String sql = "%s WHERE %s IN (%s)%s".formatted(metadata.selectSql, columnName,
+                    String.join(", ", Collections.nCopies(chunk.size(), "?")), metadata.orderByClause);
+            try (PooledConnection connection = DatabaseHelper.getConnection();
+                 PreparedStatement statement = DatabaseHelper.prepareStatement(connection, sql, chunk.toArray())) {
+                statement.setFetchSize(Math.max(chunk.size(), metadata.getFetchSize()));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    RowMapper<T> rowMapper = new RowMapper<>(metadata, resultSet);
+                    while (resultSet.next()) {
+                        results.add(rowMapper.map(resultSet));
+                    }
+                }
+            } catch (SQLException exception) {
+                displayErrorDialog("Encountered an error while performing a selection for %s!\n\n%s", metadata.modelName, exception);
+                return null;
+            }
+        }
+        return results;
+    }
 
     /**
-     * Populates reflection data required for the current instance, including the model class,
-     * model name, and associated database table name. Reflection is used to retrieve metadata
-     * about the model class and its fields dynamically at runtime.
-     * <p>
-     * In the case of reflection-related exceptions (e.g., if the `TABLE` field does not exist or
-     * is inaccessible), an error message will be displayed, and the method will return false.
+     * Resolves a to-one reference (e.g., {@link FridgeItem#getFoodItem()}) for many models at once: the pending
+     * referenced ids of all the models are collected and selected with {@link #selectWhereIn(Class, String, Collection)},
+     * and each referenced model is handed to every model referencing it
      *
-     * @return {@code true} if the reflection data was successfully gathered; {@code false} if
-     * an error occurred during the process.
+     * @param models          The models to resolve the reference of
+     * @param pendingId       Gets the referenced id of a model, or {@code null} if the reference is already resolved
+     * @param referencedClass The referenced model class
+     * @param setter          Stores a resolved referenced model in a model
+     * @param <M>             the type of the referencing models
+     * @param <R>             the type of the referenced models
+     * @return {@code true} if the referenced models were successfully selected; {@code false} otherwise.
      */
-    @SuppressWarnings("BooleanMethodIsAlwaysInverted")
-    private boolean populateReflectionData() {
-        try {
-            if (modelClass == null) {
-                modelClass = getClass();
+    protected static <M extends Model, R extends Model> boolean loadReferences(M[] models, Function<M, Object> pendingId,
+                                                                               Class<R> referencedClass, BiConsumer<M, R> setter) {
+        ArrayList<Object> ids = new ArrayList<>();
+        for (M model : models) {
+            Object id = pendingId.apply(model);
+            if (id != null) {
+                ids.add(id);
             }
-            if (modelName == null) {
-                modelName = modelClass.getSimpleName();
+        }
+        if (ids.isEmpty()) {
+            return true;
+        }
+
+        ModelMetadata metadata = ModelMetadata.get(referencedClass);
+        if (metadata == null) {
+            return false;
+        }
+        if (metadata.primaryKeys.length != 1) {
+            displayErrorDialog("Class %s must have exactly one primary key field to be referenced!", metadata.modelName);
+            return false;
+        }
+        Column primaryKey = metadata.primaryKeys[0];
+
+        HashMap<Object, R> referencedById = new HashMap<>();
+        IdentityMap identityMap = IdentityMap.current();
+        ArrayList<Object> missingIds = new ArrayList<>();
+        for (Object id : ids) {
+            R referencedModel = identityMap != null ? identityMap.get(referencedClass, id) : null;
+            if (referencedModel == null) {
+                referencedModel = EntityCache.get(metadata, id);
             }
-            if (table == null) {
-                table = modelClass.getDeclaredField("TABLE").get(this).toString();
+            if (referencedModel != null) {
+                referencedById.put(toKey(id), referencedModel);
+            } else {
+                missingIds.add(id);
             }
-        } catch (NoSuchFieldException | IllegalAccessException exception) {
-            displayErrorDialog("Encountered an error while gathering reflection data for %s!\n\n%s", modelName, exception);
+        }
+        ids = missingIds;
+
+        ArrayList<R> referencedModels = selectWhereIn(referencedClass, primaryKey.name, ids);
+        if (referencedModels == null) {
             return false;
         }
+        for (R referencedModel : referencedModels) {
+            referencedById.put(toKey(primaryKey.get(referencedModel)), referencedModel);
+        }
+
+        for (M model : models) {
+            Object id = pendingId.apply(model);
+            if (id == null) {
+                continue;
+            }
+            R referencedModel = referencedById.get(toKey(id));
+            if (referencedModel != null) {
+                setter.accept(model, referencedModel);
+            }
+        }
         return true;
     }
 
     /**
-     * Executes a database SELECT operation for the current model instance by dynamically
-     * constructing a query based on the fields of the associated model class. Fields marked
-     * with {@link Ignore} are excluded. Optionally, fields annotated with {@link OrderBy} are
-     * used for ordering the results.
-     * <p>
-     * Reflection is used to populate the query's WHERE and ORDER BY clauses dynamically based
-     * on the fields' values and annotations. Results are mapped back to model objects of the
-     * associated type.
-     * <p>
-     * In case of reflection-related errors, SQL exceptions, or instantiation failures,
-     * appropriate error dialogs are displayed, and the method will return {@code null}.
+     * Resolves a to-many collection (e.g., {@link Recipe#getIngredients()}) for many models at once: the children of
+     * all the pending models are selected with {@link #selectWhereIn(Class, String, Collection)} and grouped by their
+     * foreign key in memory, keeping the {@link OrderBy} order within each group; models without children receive an
+     * empty array
      *
-     * @param <T> the type of the model extending {@link Model}
-     * @return an array of objects of type {@code T} representing the query result, or {@code null}
-     * if an error occurs during the process.
+     * @param models         The models to resolve the collection of
+     * @param pendingId      Gets the id of a model, or {@code null} if the collection is already resolved
+     * @param childClass     The child model class
+     * @param foreignKeyName The name of the child column referencing the model
+     * @param setter         Stores the resolved children in a model
+     * @param <M>            the type of the parent models
+     * @param <C>            the type of the child models
+     * @return {@code true} if the child models were successfully selected; {@code false} otherwise.
      */
     @SuppressWarnings("unchecked")
-    public <T extends Model> T[] select() {
-        if (!populateReflectionData()) {
-            return null;
+    protected static <M extends Model, C extends Model> boolean loadCollections(M[] models, Function<M, Object> pendingId,
+                                                                                Class<C> childClass, String foreignKeyName,
+                                                                                BiConsumer<M, C[]> setter) {
+        ArrayList<Object> ids = new ArrayList<>();
+        for (M model : models) {
+            Object id = pendingId.apply(model);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return true;
         }
 
-        StringBuilder whereBuilder = new StringBuilder();
-        ArrayList<Object> whereValues = new ArrayList<>();
-
-        StringBuilder orderByBuilder = new StringBuilder();
-
-        try {
-            for (Field field : modelClass.getFields()) {
-                if (field.getAnnotation(Ignore.class) != null) {
-                    continue;
-                }
-
-                Object value = field.get(this);
-                if (value != null) {
-                    if (!whereBuilder.isEmpty()) {
-                        whereBuilder.append(" AND ");
-                    }
-                    if (value instanceof String && (((String) value).contains("%") || ((String) value).contains("_"))) {
-                        whereBuilder.append("%s LIKE ?".formatted(field.getName()));
-                    } else {
-                        whereBuilder.append("%s = ?".formatted(field.getName()));
-                    }
-                    whereValues.add(value);
-                }
+        ModelMetadata metadata = ModelMetadata.get(childClass);
+        if (metadata == null) {
+            return false;
+        }
+        Column foreignKey = metadata.getColumn(foreignKeyName);
+        if (foreignKey == null) {
+            displayErrorDialog("Class %s does not have a %s field!", metadata.modelName, foreignKeyName);
+            return false;
+        }
 
-                OrderBy orderBy = field.getAnnotation(OrderBy.class);
-                if (orderBy != null) {
-                    if (!orderByBuilder.isEmpty()) {
-                        orderByBuilder.append(", ");
-                    }
-                    orderByBuilder.append(field.getName());
+        ArrayList<C> children = selectWhereIn(childClass, foreignKey.name, ids);
+        if (children == null) {
+            return false;
+        }
+        HashMap<Object, ArrayList<C>> childrenById = new HashMap<>();
+        for (C child : children) {
+            childrenById.computeIfAbsent(toKey(foreignKey.get(child)), key -> new ArrayList<>()).add(child);
+        }
 
-                    String order = orderBy.value();
-                    if (order != null) {
-                        orderByBuilder.append(" ").append(order);
-                    }
-                }
+        for (M model : models) {
+            Object id = pendingId.apply(model);
+            if (id == null) {
+                continue;
             }
-        } catch (IllegalAccessException exception) {
-            displayErrorDialog("Encountered an error while gathering selection parameters for %s!\n\n%s", modelName, exception);
-            return null;
+            ArrayList<C> group = childrenById.getOrDefault(toKey(id), new ArrayList<>());
+            setter.accept(model, group.toArray((C[]) java.lang.reflect.Array.newInstance(childClass, group.size())));
         }
+        return true;
+    }
 
-        ArrayList<T> results = new ArrayList<>();
-        String sql = "SELECT * FROM %s%s%s".formatted(table,
-                whereBuilder.isEmpty() ? "" : " WHERE %s".formatted(whereBuilder),
-                orderByBuilder.isEmpty() ? "" : " ORDER BY %s".formatted(orderByBuilder));
-        try (OraclePreparedStatement statement = DatabaseHelper.prepareStatement(sql, whereValues.toArray())) {
-            try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    try {
-                        T result = (T) modelClass.getDeclaredConstructor().newInstance();
-                        for (Field field : modelClass.getFields()) {
-                            if (field.getAnnotation(Ignore.class) != null) {
-                                continue;
-                            }
-
-                            Object value;
-                            if (field.getType() == Date.class) {
-                                // JDBC tries to return Timestamp for the Date class, causing errors
-                                value = resultSet.getDate(field.getName());
-                            } else {
-                                value = resultSet.getObject(field.getName());
-                            }
-                            field.set(result, value);
-                        }
-                        results.add(result);
-                    } catch (InstantiationException | IllegalAccessException | NoSuchMethodException |
-                             InvocationTargetException exception) {
-                        displayErrorDialog("Encountered an error while parsing selection results for %s!\n\n%s", modelName, exception);
-                        return null;
-                    }
-                }
+    /**
+     * Groups models by their class, preserving the order in which each class and each model first appears
+     *
+     * @param models The models to group
+     * @return The models grouped by the reflection data of their class, or {@code null} if an error occurred while
+     * gathering the reflection data of a class
+     */
+    private static LinkedHashMap<ModelMetadata, ArrayList<Model>> groupByClass(Collection<? extends Model> models) {
+        LinkedHashMap<ModelMetadata, ArrayList<Model>> groups = new LinkedHashMap<>();
+        for (Model model : models) {
+            ModelMetadata metadata = model.getMetadata();
+            if (metadata == null) {
+                return null;
             }
-        } catch (SQLException exception) {
-            displayErrorDialog("Encountered an error while performing a selection for %s!\n\n%s", modelName, exception);
-            return null;
+            groups.computeIfAbsent(metadata, key -> new ArrayList<>()).add(model);
         }
+        return groups;
+    }
 
-        T[] array = (T[]) java.lang.reflect.Array.newInstance(modelClass, results.size());
-        return results.toArray(array);
+    /**
+     * Executes the batch of a prepared statement and checks that every batched statement affected a row
+     *
+     * @param statement The prepared statement with one or more batched parameter sets
+     * @return {@code true} if every batched statement affected at least one row (or the driver could not tell);
+     * {@code false} otherwise
+     * @throws SQLException May be thrown by {@link PreparedStatement#executeBatch()}
+     */
+    private static boolean executeBatch(PreparedStatement statement) throws SQLException {
+        for (int count : statement.executeBatch()) {
+            if (count == 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Validates the current instance of the model by checking its fields against
-     * specified constraints, such as annotations {@code @NotNull}, {@code @CheckString},
-     * and {@code @CheckNumberBetween}.
+     * Inserts all the given models using one batched SQL INSERT statement per model class (see
+     * {@link PreparedStatement#addBatch()}), sending up to {@link #BATCH_SIZE} rows per round trip. Models whose
+     * primary key field(s) are not set have their auto-generated keys retrieved and populated back into them.
      * <p>
-     * The method dynamically evaluates fields using reflection and applies the
-     * following validation criteria:
-     * - Fields annotated with {@code @NotNull} must not be null or blank.
-     * - Fields annotated with {@code @CheckString} must match one of the allowed values.
-     * - Fields annotated with {@code @CheckNumberBetween} must fall within the specified range.
-     * - Fields annotated with {@code @Ignore} are skipped during validation.
+     * Models with only some of their primary key fields set are inserted individually; see {@link #insert()}.
      * <p>
-     * If a validation failure occurs, an error dialog is displayed with the
-     * corresponding message, and the method returns {@code false}. If an
-     * {@code IllegalAccessException} occurs during reflection, an error dialog
-     * is also displayed, but the method may still return {@code true} unless
-     * validation criteria are not met.
+     * SQL-related exceptions or missing required fields will result in an error message being displayed, and the
+     * method will return {@code false}; rows of batches executed before the error remain inserted.
      *
-     * @return {@code true} if all validation criteria are met; {@code false} otherwise.
+     * @param models The models to insert, of any model class(es)
+     * @return {@code true} if all the models were successfully inserted into the database; {@code false} otherwise.
      */
-    public boolean validate() {
-        if (!populateReflectionData()) {
-            displayErrorDialog("Failed to populate reflection data!");
+    public static boolean insertAll(Collection<? extends Model> models) {
+        LinkedHashMap<ModelMetadata, ArrayList<Model>> groups = groupByClass(models);
+        if (groups == null) {
             return false;
         }
 
-        try {
-            for (Field field : modelClass.getFields()) {
-                if (field.getAnnotation(Ignore.class) != null) {
-                    continue;
-                }
+        for (Map.Entry<ModelMetadata, ArrayList<Model>> group : groups.entrySet()) {
+            ModelMetadata metadata = group.getKey();
+            if (metadata.nonKeyColumns.length == 0) {
+                displayErrorDialog("Missing parameter fields for class %s!", metadata.modelName);
+                return false;
+            }
 
-                Object value = field.get(this);
-                if (value == null || (value instanceof String && ((String) value).isBlank())) {
-                    if (field.getAnnotation(NotNull.class) != null) {
-                        displayErrorDialog("Please enter a valid value for field '%s'!".formatted(field.getName()));
-                        return false;
+            ArrayList<Model> generatedKeyModels = new ArrayList<>();
+            ArrayList<Model> providedKeyModels = new ArrayList<>();
+            for (Model model : group.getValue()) {
+                EntityCache.invalidate(metadata, model);
+                int nullKeys = 0;
+                for (Column column : metadata.primaryKeys) {
+                    if (column.get(model) == null) {
+                        nullKeys++;
                     }
-                    continue;
                 }
-
-                CheckString checkString = field.getAnnotation(CheckString.class);
-                if (checkString != null) {
-                    String valueString = (String) value;
-
-                    String[] checkValues = checkString.value();
-                    boolean found = false;
-                    for (String checkValue : checkValues) {
-                        if (valueString.equals(checkValue)) {
-                            found = true;
-                            break;
-                        }
-                    }
-                    if (!found) {
-                        displayErrorDialog("Value for field '%s' must be one of the following: %s".formatted(field.getName(), String.join(", ", checkValues)));
-                        return false;
-                    }
+                if (nullKeys == metadata.primaryKeys.length) {
+                    generatedKeyModels.add(model);
+                } else if (nullKeys == 0) {
+                    providedKeyModels.add(model);
+                } else if (!model.insert()) {
+                    return false;
                 }
+            }
 
-                CheckNumberGreaterThan checkNumberGreaterThan = field.getAnnotation(CheckNumberGreaterThan.class);
-                if (checkNumberGreaterThan != null) {
-                    Number valueNumber = (Number) value;
-
-                    int checkValue = checkNumberGreaterThan.value();
-                    if (valueNumber.doubleValue() <= checkValue) {
-                        displayErrorDialog("Value for field '%s' must be greater than %d!".formatted(field.getName(), checkValue));
-                        return false;
-                    }
-                }
+            if (!generatedKeyModels.isEmpty() && !insertBatch(metadata, metadata.insertSql, metadata.primaryKeyNames,
+                    metadata.nonKeyColumns, generatedKeyModels)) {
+                return false;
+            }
+            if (!providedKeyModels.isEmpty() && !insertBatch(metadata, metadata.insertWithKeysSql, new String[0],
+                    metadata.columns, providedKeyModels)) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-                CheckNumberMinimum checkNumberMinimum = field.getAnnotation(CheckNumberMinimum.class);
-                if (checkNumberMinimum != null) {
-                    Number valueNumber = (Number) value;
+    /**
+     * Helper method for {@link #insertAll(Collection)}
+     */
+    private static boolean insertBatch(ModelMetadata metadata, String sql, String[] returnColumnNames, Column[] parameterColumns, ArrayList<Model> models) {
+        try (PooledConnection connection = DatabaseHelper.getConnection()) {
+            return insertBatch(connection, metadata, sql, returnColumnNames, parameterColumns, models);
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while performing an insertion for %s!\n\n%s", metadata.modelName, exception);
+            return false;
+        }
+    }
 
-                    int checkValue = checkNumberMinimum.value();
-                    if (valueNumber.doubleValue() < checkValue) {
-                        displayErrorDialog("Value for field '%s' must be greater than or equal to %d!".formatted(field.getName(), checkValue));
-                        return false;
-                    }
+    /**
+     * Helper method for {@link #insertAll(Collection)} and {@link #syncChildren(Class, String, Object, Collection)}
+     */
+    private static boolean insertBatch(PooledConnection connection, ModelMetadata metadata, String sql, String[] returnColumnNames,
+                                       Column[] parameterColumns, ArrayList<Model> models) {
+        int[] sqlTypes = metadata.getSqlTypes(parameterColumns);
+        try (PreparedStatement statement = DatabaseHelper.prepareStatement(connection, sql, returnColumnNames, new Object[0])) {
+            for (int start = 0; start < models.size(); start += BATCH_SIZE) {
+                List<Model> batch = models.subList(start, Math.min(start + BATCH_SIZE, models.size()));
+                for (Model model : batch) {
+                    DatabaseHelper.setParameters(statement, sqlTypes, metadata.getValues(model, parameterColumns));
+                    statement.addBatch();
+                }
+                if (!executeBatch(statement)) {
+                    displayErrorDialog("Failed to perform an insertion for %s!", metadata.modelName);
+                    return false;
                 }
 
-                CheckNumberBetween checkNumberBetween = field.getAnnotation(CheckNumberBetween.class);
-                if (checkNumberBetween != null) {
-                    Number valueNumber = (Number) value;
-
-                    int checkMin = checkNumberBetween.min();
-                    int checkMax = checkNumberBetween.max();
-                    if (valueNumber.doubleValue() < checkMin || valueNumber.doubleValue() > checkMax) {
-                        displayErrorDialog("Value for field '%s' must be between %d and %d!".formatted(field.getName(), checkMin, checkMax));
-                        return false;
+                if (returnColumnNames.length > 0) {
+                    try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                        for (Model model : batch) {
+                            // the driver returned fewer keys than rows, so the remaining models would keep null keys
+                            if (!generatedKeys.next()) {
+                                displayErrorDialog("Failed to retrieve the generated keys of an insertion for %s!", metadata.modelName);
+                                return false;
+                            }
+                            for (int index = 0; index < metadata.primaryKeys.length; index++) {
+                                metadata.primaryKeys[index].set(model, generatedKeys.getBigDecimal(index + 1));
+                            }
+                        }
                     }
                 }
+                for (Model model : batch) {
+                    model.takeSnapshot(metadata);
+                }
             }
-        } catch (IllegalAccessException exception) {
-            displayErrorDialog("Encountered an error while performing validation for %s!\n\n%s".formatted(modelName, exception));
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while performing an insertion for %s!\n\n%s", metadata.modelName, exception);
             return false;
+        } finally {
+            EntityCache.invalidate(metadata, models);
         }
         return true;
     }
 
     /**
-     * Inserts the current instance of the model into the associated database table by dynamically
-     * constructing an SQL INSERT statement using reflection. Fields annotated with {@link Ignore}
-     * are skipped during insertion. Fields annotated with {@link PrimaryKey} are included
-     * conditionally, depending on whether their values are provided.
+     * Updates all the given models using one batched SQL UPDATE statement per model class (see
+     * {@link PreparedStatement#addBatch()}), sending up to {@link #BATCH_SIZE} rows per round trip.
      * <p>
-     * If the insertion is successful, any auto-generated keys are retrieved and populated
-     * back into the respective fields of the model instance.
-     * <p>
-     * Reflection errors, SQL-related exceptions, or missing required fields will result in an
-     * error message being displayed, and the method will return {@code false}.
+     * Missing parameter field(s), missing primary key(s), or database-related exceptions will result in an error
+     * message being displayed, and the method returning {@code false}; rows of batches executed before the error
+     * remain updated.
      *
-     * @return {@code true} if the model was successfully inserted into the database;
-     * {@code false} otherwise.
+     * @param models The models to update, of any model class(es)
+     * @return {@code true} if all the models were successfully updated in the database; {@code false} otherwise.
      */
-    public boolean insert() {
-        if (!populateReflectionData()) {
+    public static boolean updateAll(Collection<? extends Model> models) {
+        LinkedHashMap<ModelMetadata, ArrayList<Model>> groups = groupByClass(models);
+        if (groups == null) {
             return false;
         }
 
-        ArrayList<String> returnColumns = new ArrayList<>();
-
-        StringBuilder parametersBuilder = new StringBuilder();
-        StringBuilder valuesBuilder = new StringBuilder();
-        ArrayList<Object> parameterValues = new ArrayList<>();
-
-        try {
-            for (Field field : modelClass.getFields()) {
-                if (field.getAnnotation(Ignore.class) != null) {
-                    continue;
+        for (Map.Entry<ModelMetadata, ArrayList<Model>> group : groups.entrySet()) {
+            ModelMetadata metadata = group.getKey();
+            if (metadata.nonKeyColumns.length == 0) {
+                displayErrorDialog("Missing parameter fields for class %s!", metadata.modelName);
+                return false;
+            }
+            if (metadata.primaryKeys.length == 0) {
+                displayErrorDialog("Missing primary key field(s) for class %s!", metadata.modelName);
+                return false;
+            }
+            // models modified in the same columns share one batched statement; unmodified models are skipped
+            LinkedHashMap<List<Column>, ArrayList<Model>> dirtyGroups = new LinkedHashMap<>();
+            for (Model model : group.getValue()) {
+                if (!model.load()) {
+                    return false;
                 }
-
-                String fieldName = field.getName();
-                Object value = field.get(this);
-                if (field.getAnnotation(PrimaryKey.class) != null && value == null) {
-                    returnColumns.add(fieldName);
-                    continue;
+                Column[] dirtyColumns = model.getDirtyColumns(metadata);
+                if (dirtyColumns.length > 0) {
+                    EntityCache.invalidate(metadata, model);
+                    dirtyGroups.computeIfAbsent(List.of(dirtyColumns), key -> new ArrayList<>()).add(model);
                 }
+            }
 
-                if (!parametersBuilder.isEmpty()) {
-                    parametersBuilder.append(", ");
+            for (Map.Entry<List<Column>, ArrayList<Model>> dirtyGroup : dirtyGroups.entrySet()) {
+                Column[] dirtyColumns = dirtyGroup.getKey().toArray(new Column[0]);
+                if (!executeBatches(metadata, metadata.getUpdateSql(dirtyColumns), dirtyGroup.getValue(), "an update",
+                        dirtyColumns, metadata.primaryKeys)) {
+                    return false;
                 }
-                parametersBuilder.append(fieldName);
-
-                if (!valuesBuilder.isEmpty()) {
-                    valuesBuilder.append(", ");
+                for (Model model : dirtyGroup.getValue()) {
+                    model.takeSnapshot(metadata);
                 }
-                valuesBuilder.append("?");
-                parameterValues.add(value);
             }
-        } catch (IllegalAccessException exception) {
-            displayErrorDialog("Encountered an error while gathering insertion parameters for %s!\n\n%s", modelName, exception);
-            return false;
         }
+        return true;
+    }
 
-        if (parametersBuilder.isEmpty()) {
-            displayErrorDialog("Missing parameter fields for class %s!", modelName);
+    /**
+     * Deletes all the given models using one batched SQL DELETE statement per model class (see
+     * {@link PreparedStatement#addBatch()}), sending up to {@link #BATCH_SIZE} rows per round trip.
+     * <p>
+     * Missing primary key(s) or database-related exceptions will result in an error message being displayed, and
+     * the method returning {@code false}; rows of batches executed before the error remain deleted.
+     *
+     * @param models The models to delete, of any model class(es)
+     * @return {@code true} if all the models were successfully deleted from the database; {@code false} otherwise.
+     */
+    public static boolean deleteAll(Collection<? extends Model> models) {
+        LinkedHashMap<ModelMetadata, ArrayList<Model>> groups = groupByClass(models);
+        if (groups == null) {
             return false;
         }
 
-        String sql = "INSERT INTO %s (%s) VALUES (%s)".formatted(table, parametersBuilder.toString(), valuesBuilder.toString());
-        try (OraclePreparedStatement statement = DatabaseHelper.prepareStatement(sql, returnColumns.toArray(new String[0]), parameterValues.toArray())) {
-            if (statement.executeUpdate() == 0) {
-                displayErrorDialog("Failed to perform an insertion for %s!", modelName);
+        for (Map.Entry<ModelMetadata, ArrayList<Model>> group : groups.entrySet()) {
+            ModelMetadata metadata = group.getKey();
+            if (metadata.primaryKeys.length == 0) {
+                displayErrorDialog("Missing primary key field(s) for class %s!", metadata.modelName);
                 return false;
             }
 
-            try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
-                if (!generatedKeys.next()) {
-                    return true;
-                }
-
-                try {
-                    for (int index = 0; index < returnColumns.size(); index++) {
-                        String column = returnColumns.get(index);
-                        modelClass.getField(column).set(this, generatedKeys.getObject(index + 1));
-                    }
-                } catch (NoSuchFieldException | IllegalAccessException exception) {
-                    displayErrorDialog("Encountered an error while parsing insertion generated keys for %s!\n\n%s", modelName, exception);
-                    return false;
-                }
+            for (Model model : group.getValue()) {
+                EntityCache.invalidate(metadata, model);
+            }
+            if (!executeBatches(metadata, metadata.deleteSql, group.getValue(), "a deletion", metadata.primaryKeys)) {
+                return false;
             }
-        } catch (SQLException exception) {
-            displayErrorDialog("Encountered an error while performing an insertion for %s!\n\n%s", modelName, exception);
-            return false;
         }
         return true;
     }
 
     /**
-     * Updates the current instance of the model in the associated database table by dynamically constructing
-     * an SQL UPDATE statement using reflection. Fields annotated with {@link Ignore} are skipped during the update.
-     * Primary key fields, annotated with {@link PrimaryKey}, are used in the WHERE clause to identify the target row(s).
+     * Inserts or updates the current instance: if any of its primary key fields are {@code null}, it is inserted with
+     * {@link #insert()}; otherwise, it is written with the single SQL MERGE statement prepared in the shared
+     * {@link ModelMetadata}, which updates the row if it exists and inserts it otherwise. Instances not modified since
+     * they were selected, loaded, inserted or last updated are skipped (see {@link #isDirty()}).
      * <p>
-     * The method dynamically evaluates fields of the model class to populate the SET clause of the update query.
-     * A failure in constructing the query, missing primary key(s), or database-related exceptions will result in
-     * an error message being displayed, and the method returning {@code false}.
+     * Missing parameter field(s) or database-related exceptions will result in an error message being displayed,
+     * and the method returning {@code false}.
      *
-     * @return {@code true} if the model was successfully updated in the database; {@code false} otherwise.
+     * @return {@code true} if the model was successfully saved to the database; {@code false} otherwise.
      */
-    public boolean update() {
-        if (!populateReflectionData()) {
+    public boolean save() {
+        ModelMetadata metadata = getMetadata();
+        if (metadata == null) {
             return false;
         }
 
-        StringBuilder keysBuilder = new StringBuilder();
-        ArrayList<Object> keyKeysAndValuesList = new ArrayList<>();
-
-        StringBuilder parametersBuilder = new StringBuilder();
-        ArrayList<Object> parameterKeysAndValuesList = new ArrayList<>();
-
-        try {
-            for (Field field : modelClass.getFields()) {
-                if (field.getAnnotation(Ignore.class) != null) {
-                    continue;
-                }
-
-                String fieldName = field.getName();
-
-                if (field.getAnnotation(PrimaryKey.class) != null) {
-                    if (!keysBuilder.isEmpty()) {
-                        keysBuilder.append(" AND ");
-                    }
-                    keysBuilder.append("%s = ?".formatted(fieldName));
-                    keyKeysAndValuesList.add(field.get(this));
-                    continue;
-                }
-
-                if (!parametersBuilder.isEmpty()) {
-                    parametersBuilder.append(", ");
-                }
-                parametersBuilder.append("%s = ?".formatted(fieldName));
-                parameterKeysAndValuesList.add(field.get(this));
+        for (Column column : metadata.primaryKeys) {
+            if (column.get(this) == null) {
+                return insert();
             }
-        } catch (IllegalAccessException exception) {
-            displayErrorDialog("Encountered an error while gathering update parameters for %s!\n\n%s", modelName, exception);
+        }
+        String mergeSql = metadata.getMergeSql();
+        if (mergeSql == null) {
+            displayErrorDialog("Missing parameter fields for class %s!", metadata.modelName);
             return false;
         }
 
-        if (parametersBuilder.isEmpty()) {
-            displayErrorDialog("Missing parameter fields for class %s!", modelName);
+        if (!load()) {
             return false;
         }
-        if (keysBuilder.isEmpty()) {
-            displayErrorDialog("Missing primary key field(s) for class %s!", modelName);
-            return false;
+        if (snapshot != null && getDirtyColumns(metadata).length == 0) {
+            return true;
         }
 
-        String sql = "UPDATE %s SET %s WHERE %s".formatted(table, parametersBuilder.toString(), keysBuilder.toString());
-        try (OraclePreparedStatement statement = DatabaseHelper.prepareStatement(sql, parameterKeysAndValuesList.toArray(), keyKeysAndValuesList.toArray())) {
+        EntityCache.invalidate(metadata, this);
+        try (PooledConnection connection = DatabaseHelper.getConnection();
+             PreparedStatement statement = DatabaseHelper.prepareStatement(connection, mergeSql, null,
+                metadata.getSqlTypes(metadata.columns), metadata.getValues(this, metadata.columns))) {
             if (statement.executeUpdate() == 0) {
-                displayErrorDialog("Failed to perform an update for %s!", modelName);
+                displayErrorDialog("Failed to perform a merge for %s!", metadata.modelName);
                 return false;
             }
         } catch (SQLException exception) {
-            displayErrorDialog("Encountered an error while performing an update for %s!\n\n%s", modelName, exception);
+            displayErrorDialog("Encountered an error while performing a merge for %s!\n\n%s", metadata.modelName, exception);
             return false;
+        } finally {
+            EntityCache.invalidate(metadata, this);
         }
+        takeSnapshot(metadata);
         return true;
     }
 
     /**
-     * Deletes the current model instance from the associated database table.
-     * This method uses reflection to identify fields annotated with {@link PrimaryKey},
-     * which are used to construct the WHERE clause of the SQL DELETE statement.
+     * Saves all the given models as {@link #save()} does, in order of their model classes: models with all their
+     * primary key fields set are written using one batched SQL MERGE statement per model class, sending up to
+     * {@link #BATCH_SIZE} rows per round trip, and the other models are inserted with {@link #insertAll(Collection)}.
      * <p>
-     * The deletion is performed only if the primary key field(s) are properly defined
-     * and the required data can be gathered through reflection. Any database-related
-     * errors or reflection-related issues will result in an error message being displayed,
-     * and the deletion will not be executed.
+     * Missing parameter field(s) or database-related exceptions will result in an error message being displayed, and
+     * the method returning {@code false}; rows of batches executed before the error remain saved.
      *
-     * @return {@code true} if the deletion was successful; {@code false} otherwise.
+     * @param models The models to save, of any model class(es)
+     * @return {@code true} if all the models were successfully saved to the database; {@code false} otherwise.
      */
-    public boolean delete() {
-        if (!populateReflectionData()) {
+    public static boolean saveAll(Collection<? extends Model> models) {
+        LinkedHashMap<ModelMetadata, ArrayList<Model>> groups = groupByClass(models);
+        if (groups == null) {
             return false;
         }
 
-        StringBuilder keysBuilder = new StringBuilder();
-        ArrayList<Object> keyKeysAndValuesList = new ArrayList<>();
+        for (Map.Entry<ModelMetadata, ArrayList<Model>> group : groups.entrySet()) {
+            ModelMetadata metadata = group.getKey();
+            String mergeSql = metadata.getMergeSql();
+            if (mergeSql == null) {
+                displayErrorDialog("Missing parameter fields for class %s!", metadata.modelName);
+                return false;
+            }
 
-        try {
-            for (Field field : modelClass.getFields()) {
-                if (field.getAnnotation(PrimaryKey.class) == null) {
+            ArrayList<Model> inserted = new ArrayList<>();
+            ArrayList<Model> merged = new ArrayList<>();
+            for (Model model : group.getValue()) {
+                boolean hasKeys = true;
+                for (Column column : metadata.primaryKeys) {
+                    if (column.get(model) == null) {
+                        hasKeys = false;
+                        break;
+                    }
+                }
+                if (!hasKeys) {
+                    inserted.add(model);
                     continue;
                 }
 
-                String fieldName = field.getName();
+                if (!model.load()) {
+                    return false;
+                }
+                if (model.snapshot == null || model.getDirtyColumns(metadata).length > 0) {
+                    EntityCache.invalidate(metadata, model);
+                    merged.add(model);
+                }
+            }
 
-                if (!keysBuilder.isEmpty()) {
-                    keysBuilder.append(" AND ");
+            if (!merged.isEmpty()) {
+                if (!executeBatches(metadata, mergeSql, merged, "a merge", metadata.columns)) {
+                    return false;
+                }
+                for (Model model : merged) {
+                    model.takeSnapshot(metadata);
                 }
-                keysBuilder.append("%s = ?".formatted(fieldName));
-                keyKeysAndValuesList.add(field.get(this));
             }
-        } catch (IllegalAccessException exception) {
-            displayErrorDialog("Encountered an error while gathering deletion parameters for %s!\n\n%s", modelName, exception);
+            if (!inserted.isEmpty() && !insertAll(inserted)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Makes the stored children of a parent row match the given children: the children referencing the parent that
+     * are not among the given children are deleted with one SQL DELETE statement
+     * ({@code DELETE ... WHERE foreign_key = ? AND id NOT IN (...)}), then the foreign key of each given child is set
+     * to the parent and the children are saved as {@link #saveAll(Collection)} does, all within a single transaction
+     * <p>
+     * Missing primary key(s) or database-related exceptions will result in an error message being displayed, and the
+     * method returning {@code false}; the transaction is then rolled back, so no child is deleted or saved.
+     *
+     * @param childClass     The child model class, which must have exactly one primary key field
+     * @param foreignKeyName The name of the child column referencing the parent
+     * @param parentId       The primary key value of the parent
+     * @param children       The children the parent should have
+     * @param <C>            the type of the child models
+     * @return {@code true} if the children were successfully synchronized; {@code false} otherwise.
+     */
+    public static <C extends Model> boolean syncChildren(Class<C> childClass, String foreignKeyName, Object parentId,
+                                                         Collection<? extends C> children) {
+        ModelMetadata metadata = ModelMetadata.get(childClass);
+        if (metadata == null) {
+            return false;
+        }
+        if (metadata.primaryKeys.length != 1) {
+            displayErrorDialog("Class %s must have exactly one primary key field to be synchronized!", metadata.modelName);
             return false;
         }
+        Column foreignKey = metadata.getColumn(foreignKeyName);
+        if (foreignKey == null) {
+            displayErrorDialog("Class %s does not have a %s field!", metadata.modelName, foreignKeyName);
+            return false;
+        }
+        Column primaryKey = metadata.primaryKeys[0];
+
+        ArrayList<Object> parameters = new ArrayList<>();
+        parameters.add(parentId);
+        StringBuilder sqlBuilder = new StringBuilder("DELETE FROM %s WHERE %s = ?".formatted(metadata.table, foreignKey.name));
+        ArrayList<Object> keptIds = new ArrayList<>();
+        for (C child : children) {
+            Object id = primaryKey.get(child);
+            if (id != null) {
+                keptIds.add(id);
+            }
+        }
+        // Oracle limits each IN list, so longer lists are split into several NOT IN conditions
+        for (int start = 0; start < keptIds.size(); start += MAX_IN_LIST_SIZE) {
+            List<Object> chunk = keptIds.subList(start, Math.min(start + MAX_IN_LIST_SIZE, keptIds.size()));
+            sqlBuilder.append(" AND %s NOT IN (%s)".formatted(primaryKey.name, String.join(", ", Collections.nCopies(chunk.size(), "?"))));
+            parameters.addAll(chunk);
+        }
 
-        if (keysBuilder.isEmpty()) {
-            displayErrorDialog("Missing primary key field(s) for class %s!", modelName);
+        String mergeSql = metadata.getMergeSql();
+        if (mergeSql == null) {
+            displayErrorDialog("Missing parameter fields for class %s!", metadata.modelName);
             return false;
         }
 
-        String sql = "DELETE FROM %s WHERE %s".formatted(table, keysBuilder.toString());
-        try (OraclePreparedStatement statement = DatabaseHelper.prepareStatement(sql, keyKeysAndValuesList.toArray())) {
-            if (statement.executeUpdate() == 0) {
-                displayErrorDialog("Failed to perform a deletion for %s!", modelName);
+        // the stored state of the children is loaded before the connection of the transaction is borrowed
+        ArrayList<Model> inserted = new ArrayList<>();
+        ArrayList<Model> merged = new ArrayList<>();
+        for (Model child : children) {
+            foreignKey.set(child, parentId);
+            if (primaryKey.get(child) == null) {
+                inserted.add(child);
+                continue;
+            }
+            if (!child.load()) {
                 return false;
             }
+            if (child.snapshot == null || child.getDirtyColumns(metadata).length > 0) {
+                merged.add(child);
+            }
+        }
+
+        EntityCache.invalidateAll(metadata);
+        boolean committed = false;
+        try (PooledConnection connection = DatabaseHelper.getConnection()) {
+            connection.getConnection().setAutoCommit(false);
+            try (PreparedStatement statement = DatabaseHelper.prepareStatement(connection, sqlBuilder.toString(), parameters.toArray())) {
+                statement.executeUpdate();
+            }
+            if ((merged.isEmpty() || executeBatches(connection, metadata, mergeSql, merged, "a merge", metadata.columns))
+                    && (inserted.isEmpty() || insertBatch(connection, metadata, metadata.insertSql, metadata.primaryKeyNames,
+                    metadata.nonKeyColumns, inserted))) {
+                connection.getConnection().commit();
+                committed = true;
+            } else {
+                connection.getConnection().rollback();
+            }
+            connection.getConnection().setAutoCommit(true);
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while synchronizing the children of %s!\n\n%s", metadata.modelName, exception);
+        } finally {
+            EntityCache.invalidateAll(metadata);
+        }
+
+        if (!committed) {
+            // the rows were rolled back, so the keys generated for the inserted children are not stored
+            for (Model child : inserted) {
+                primaryKey.set(child, null);
+                child.snapshot = null;
+            }
+            return false;
+        }
+        for (Model child : merged) {
+            child.takeSnapshot(metadata);
+        }
+        return true;
+    }
+
+    /**
+     * Helper method for {@link #updateAll(Collection)}, {@link #deleteAll(Collection)} and {@link #saveAll(Collection)}
+     */
+    private static boolean executeBatches(ModelMetadata metadata, String sql, ArrayList<Model> models, String operation, Column[]... parameterColumns) {
+        try (PooledConnection connection = DatabaseHelper.getConnection()) {
+            return executeBatches(connection, metadata, sql, models, operation, parameterColumns);
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while performing %s for %s!\n\n%s", operation, metadata.modelName, exception);
+            return false;
+        }
+    }
+
+    /**
+     * Helper method for {@link #executeBatches(ModelMetadata, String, ArrayList, String, Column[]...)} and
+     * {@link #syncChildren(Class, String, Object, Collection)}
+     */
+    private static boolean executeBatches(PooledConnection connection, ModelMetadata metadata, String sql, ArrayList<Model> models,
+                                          String operation, Column[]... parameterColumns) {
+        int[] sqlTypes = metadata.getSqlTypes(parameterColumns);
+        try (PreparedStatement statement = DatabaseHelper.prepareStatement(connection, sql)) {
+            for (int start = 0; start < models.size(); start += BATCH_SIZE) {
+                for (Model model : models.subList(start, Math.min(start + BATCH_SIZE, models.size()))) {
+                    DatabaseHelper.setParameters(statement, sqlTypes, metadata.getValues(model, parameterColumns));
+                    statement.addBatch();
+                }
+                if (!executeBatch(statement)) {
+                    displayErrorDialog("Failed to perform %s for %s!", operation, metadata.modelName);
+                    return false;
+                }
+            }
         } catch (SQLException exception) {
-            displayErrorDialog("Encountered an error while performing a deletion for %s!\n\n%s", modelName, exception);
+            displayErrorDialog("Encountered an error while performing %s for %s!\n\n%s", operation, metadata.modelName, exception);
             return false;
+        } finally {
+            EntityCache.invalidate(metadata, models);
         }
         return true;
     }
@@ -0,0 +1,63 @@
+package MealPlanner.Models;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Persistence code for a model class generated at compile time by the {@code processor} module (named after the model
+ * class with a {@code Mapper} suffix, e.g. {@code FoodItemMapper}); when a generated mapper exists, the
+ * {@link ModelMetadata} of the model class uses its hard-coded SQL statements, constructor and field accessors instead
+ * of generating them from reflection data; the MERGE statement is not generated, as its syntax depends on the
+ * {@link MealPlanner.Dialects.Dialect} of the database
+ * <p>
+ * Only the per-row work is generated. The {@link ModelMetadata} itself is still gathered once per class with
+ * reflection (the mapper is found with {@link Class#forName(String)}, and the columns and their annotations are read
+ * from the {@link java.lang.reflect.Field}s named by {@link #getColumnNames()}), and parameter binding
+ * ({@link MealPlanner.DatabaseHelper#setParameters(java.sql.PreparedStatement, int[], Object[])}) and validation
+ * ({@link Validator}) remain shared code driven by that metadata; neither reflects per row.
+ * <p>
+ * Columns are identified by their index in {@link #getColumnNames()}, which is also the order of
+ * {@link ModelMetadata#columns} for the model class.
+ *
+ * @param <T> the type of the model extending {@link Model}
+ */
+public interface ModelMapper<T extends Model> {
+    /**
+     * @return The names of the columns of the model class, in declaration order
+     */
+    String[] getColumnNames();
+
+    String getSelectSql();
+
+    String getInsertSql();
+
+    String getInsertWithKeysSql();
+
+    String getUpdateSql();
+
+    String getDeleteSql();
+
+    T newInstance();
+
+    /**
+     * @param model The model instance to read the column of
+     * @param index The index of the column in {@link #getColumnNames()}
+     * @return The value of the column for the model instance
+     */
+    Object get(T model, int index);
+
+    /**
+     * @param model The model instance to write the column of
+     * @param index The index of the column in {@link #getColumnNames()}
+     * @param value The value to set the column to
+     */
+    void set(T model, int index, Object value);
+
+    /**
+     * @param resultSet     Result set positioned on the row to map
+     * @param columnIndexes The result set column index of each column, indexed as {@link #getColumnNames()}
+     * @return A new model instance populated with the values of the current row
+     * @throws SQLException May be thrown by the {@link ResultSet} getters
+     */
+    T map(ResultSet resultSet, int[] columnIndexes) throws SQLException;
+}
@@ -0,0 +1,536 @@
+package MealPlanner.Models;
+
+import MealPlanner.DatabaseHelper;
+import MealPlanner.Dialects.Dialect;
+import MealPlanner.Metrics.QueryMetrics;
+import MealPlanner.Models.Annotations.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static MealPlanner.Main.displayErrorDialog;
+
+/**
+ * Reflection data for a {@link Model} subclass, gathered once per class and shared by every instance and every
+ * CRUD operation of that class; see {@link #get(Class)}
+ */
+public class ModelMetadata {
+    private static final ConcurrentHashMap<Class<? extends Model>, ModelMetadata> registry = new ConcurrentHashMap<>();
+
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    public final Class<? extends Model> modelClass;
+    public final String modelName;
+    public final String table;
+
+    /**
+     * Invokes the no-argument constructor of the model class directly; taken from the generated {@link ModelMapper} if
+     * present, otherwise generated with {@link LambdaMetafactory}
+     */
+    private final Supplier<? extends Model> constructor;
+    /**
+     * The {@link ModelMapper} generated for the model class at compile time, or {@code null} if none was generated
+     */
+    final ModelMapper<Model> mapper;
+
+    /**
+     * All public instance fields not annotated with {@link Ignore}, in declaration order
+     */
+    public final Column[] columns;
+    /**
+     * Columns annotated with {@link PrimaryKey}
+     */
+    public final Column[] primaryKeys;
+    /**
+     * Columns not annotated with {@link PrimaryKey}
+     */
+    public final Column[] nonKeyColumns;
+
+    /**
+     * The ORDER BY clause built from the {@link OrderBy} columns (including the leading space), or an empty string
+     */
+    public final String orderByClause;
+    /**
+     * Columns that uniquely identify the position of a row in the model's ordering: the {@link OrderBy} columns
+     * followed by any primary key column(s) not already included; {@code null} if the model does not have any primary
+     * key columns or any of its {@link OrderBy} columns may be null, in which case keyset pagination cannot be used
+     */
+    public final Column[] keysetColumns;
+    /**
+     * Whether each of the {@link #keysetColumns} is ordered in descending order
+     */
+    public final boolean[] keysetDescending;
+    /**
+     * The ORDER BY clause built from the {@link #keysetColumns} (including the leading space), or {@code null}
+     */
+    public final String keysetOrderByClause;
+    /**
+     * WHERE clause matching the primary key column(s) (including the leading space), or {@code null} if the model
+     * does not have any primary key columns
+     */
+    public final String primaryKeyWhereClause;
+
+    public final String selectSql;
+    public final String insertSql;
+    public final String insertWithKeysSql;
+    public final String updateSql;
+    public final String deleteSql;
+    /**
+     * The MERGE statement of each dialect it was built for, keyed by {@link Dialect#getName()}; see {@link #getMergeSql()}
+     */
+    private final ConcurrentHashMap<String, String> mergeSqls = new ConcurrentHashMap<>();
+
+    public final String[] primaryKeyNames;
+
+    /**
+     * The validation checks of the {@link #columns}, compiled once; see {@link Model#validate()}
+     */
+    public final Validator validator;
+
+    /**
+     * Whether the model class is annotated with {@link Cacheable} and has exactly one primary key column, in which
+     * case its rows are kept in the {@link EntityCache}
+     */
+    public final boolean cacheable;
+
+    /**
+     * The value of the {@link FetchSize} annotation of the model class, otherwise {@link Model#DEFAULT_FETCH_SIZE}
+     */
+    private final int defaultFetchSize;
+    /**
+     * The resolved {@link #getFetchSize()}, or 0 until it is first used after {@link #resetSettings()}
+     */
+    private volatile int fetchSize = 0;
+
+    public static class Column {
+        public final Field field;
+        public final String name;
+        public final Class<?> type;
+        /**
+         * The {@link Types} constant the column is bound as, e.g. by {@link DatabaseHelper#setParameters(PreparedStatement, int[], Object[])}
+         */
+        public final int sqlType;
+        public final int index;
+
+        public final boolean primaryKey;
+        public final boolean notNull;
+        public final OrderBy orderBy;
+        public final CheckString checkString;
+        public final CheckNumberGreaterThan checkNumberGreaterThan;
+        public final CheckNumberMinimum checkNumberMinimum;
+        public final CheckNumberBetween checkNumberBetween;
+
+        private final ModelMapper<Model> mapper;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private Column(Field field, int index, ModelMapper<Model> mapper) throws IllegalAccessException {
+            this.field = field;
+            this.name = field.getName();
+            this.type = field.getType();
+            if (type == String.class) {
+                sqlType = Types.VARCHAR;
+            } else if (Number.class.isAssignableFrom(type)) {
+                sqlType = Types.NUMERIC;
+            } else if (type == Date.class) {
+                sqlType = Types.DATE;
+            } else {
+                sqlType = Types.OTHER;
+            }
+            this.index = index;
+
+            primaryKey = field.getAnnotation(PrimaryKey.class) != null;
+            notNull = field.getAnnotation(NotNull.class) != null;
+            orderBy = field.getAnnotation(OrderBy.class);
+            checkString = field.getAnnotation(CheckString.class);
+            checkNumberGreaterThan = field.getAnnotation(CheckNumberGreaterThan.class);
+            checkNumberMinimum = field.getAnnotation(CheckNumberMinimum.class);
+            checkNumberBetween = field.getAnnotation(CheckNumberBetween.class);
+
+            this.mapper = mapper;
+            if (mapper != null) {
+                getter = null;
+                setter = null;
+            } else {
+                getter = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Model.class));
+                setter = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Model.class, Object.class));
+            }
+        }
+
+        /**
+         * @param model The model instance to read the field of
+         * @return The value of the field for the model instance
+         */
+        public Object get(Model model) {
+            if (mapper != null) {
+                return mapper.get(model, index);
+            }
+            try {
+                return (Object) getter.invokeExact(model);
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+
+        /**
+         * @param model The model instance to write the field of
+         * @param value The value to write; must be assignable to the field's type
+         */
+        public void set(Model model, Object value) {
+            if (mapper != null) {
+                mapper.set(model, index, value);
+                return;
+            }
+            try {
+                setter.invokeExact(model, value);
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ModelMetadata(Class<? extends Model> modelClass, String table) throws Throwable {
+        this.modelClass = modelClass;
+        this.modelName = modelClass.getSimpleName();
+        this.table = table;
+        QueryMetrics.registerModel(table, modelName);
+
+        mapper = findMapper(modelClass);
+        Field[] fields;
+        if (mapper != null) {
+            constructor = mapper::newInstance;
+            String[] columnNames = mapper.getColumnNames();
+            fields = new Field[columnNames.length];
+            for (int index = 0; index < columnNames.length; index++) {
+                fields[index] = modelClass.getField(columnNames[index]);
+            }
+        } else {
+            MethodHandle constructorHandle = lookup.findConstructor(modelClass, MethodType.methodType(void.class));
+            constructor = (Supplier<? extends Model>) LambdaMetafactory.metafactory(lookup, "get",
+                    MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                    constructorHandle, MethodType.methodType(modelClass)).getTarget().invokeExact();
+            fields = modelClass.getFields();
+        }
+
+        ArrayList<Column> columnList = new ArrayList<>();
+        ArrayList<Column> primaryKeyList = new ArrayList<>();
+        ArrayList<Column> nonKeyList = new ArrayList<>();
+        ArrayList<Column> orderByList = new ArrayList<>();
+        StringBuilder orderByBuilder = new StringBuilder();
+        for (Field field : fields) {
+            if (field.getAnnotation(Ignore.class) != null || Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+
+            Column column = new Column(field, columnList.size(), mapper);
+            columnList.add(column);
+            if (column.primaryKey) {
+                primaryKeyList.add(column);
+            } else {
+                nonKeyList.add(column);
+            }
+
+            if (column.orderBy != null) {
+                orderByList.add(column);
+                if (!orderByBuilder.isEmpty()) {
+                    orderByBuilder.append(", ");
+                }
+                orderByBuilder.append(column.name);
+
+                String order = column.orderBy.value();
+                if (order != null) {
+                    orderByBuilder.append(" ").append(order);
+                }
+            }
+        }
+        columns = columnList.toArray(new Column[0]);
+        primaryKeys = primaryKeyList.toArray(new Column[0]);
+        nonKeyColumns = nonKeyList.toArray(new Column[0]);
+        orderByClause = orderByBuilder.isEmpty() ? "" : " ORDER BY %s".formatted(orderByBuilder);
+
+        boolean keysetUsable = primaryKeys.length > 0;
+        for (Column column : orderByList) {
+            if (!column.notNull && !column.primaryKey) {
+                keysetUsable = false;
+                break;
+            }
+        }
+        if (keysetUsable) {
+            ArrayList<Column> keysetList = new ArrayList<>(orderByList);
+            for (Column column : primaryKeys) {
+                if (!keysetList.contains(column)) {
+                    keysetList.add(column);
+                }
+            }
+            keysetColumns = keysetList.toArray(new Column[0]);
+            keysetDescending = new boolean[keysetColumns.length];
+            StringBuilder keysetOrderByBuilder = new StringBuilder();
+            for (int index = 0; index < keysetColumns.length; index++) {
+                Column column = keysetColumns[index];
+                keysetDescending[index] = column.orderBy != null && "DESC".equalsIgnoreCase(column.orderBy.value());
+                if (!keysetOrderByBuilder.isEmpty()) {
+                    keysetOrderByBuilder.append(", ");
+                }
+                keysetOrderByBuilder.append(column.name).append(keysetDescending[index] ? " DESC" : " ASC");
+            }
+            keysetOrderByClause = " ORDER BY %s".formatted(keysetOrderByBuilder);
+        } else {
+            keysetColumns = null;
+            keysetDescending = null;
+            keysetOrderByClause = null;
+        }
+
+        primaryKeyNames = new String[primaryKeys.length];
+        for (int index = 0; index < primaryKeys.length; index++) {
+            primaryKeyNames[index] = primaryKeys[index].name;
+        }
+        cacheable = modelClass.isAnnotationPresent(Cacheable.class) && primaryKeys.length == 1;
+        validator = new Validator(columns);
+        FetchSize fetchSizeAnnotation = modelClass.getAnnotation(FetchSize.class);
+        defaultFetchSize = fetchSizeAnnotation == null || fetchSizeAnnotation.value() <= 0 ? Model.DEFAULT_FETCH_SIZE
+                : fetchSizeAnnotation.value();
+        primaryKeyWhereClause = primaryKeys.length == 0 ? null : " WHERE %s".formatted(joinColumns(primaryKeys, "%s = ?", " AND "));
+
+        if (mapper != null) {
+            selectSql = mapper.getSelectSql();
+            insertSql = mapper.getInsertSql();
+            insertWithKeysSql = mapper.getInsertWithKeysSql();
+            updateSql = mapper.getUpdateSql();
+            deleteSql = mapper.getDeleteSql();
+        } else {
+            selectSql = "SELECT * FROM %s".formatted(table);
+            insertSql = nonKeyColumns.length == 0 ? null : "INSERT INTO %s (%s) VALUES (%s)".formatted(table,
+                    joinColumns(nonKeyColumns, "%s", ", "), joinColumns(nonKeyColumns, "?", ", "));
+            insertWithKeysSql = columns.length == 0 ? null : "INSERT INTO %s (%s) VALUES (%s)".formatted(table,
+                    joinColumns(columns, "%s", ", "), joinColumns(columns, "?", ", "));
+            updateSql = nonKeyColumns.length == 0 || primaryKeyWhereClause == null ? null : "UPDATE %s SET %s%s".formatted(table,
+                    joinColumns(nonKeyColumns, "%s = ?", ", "), primaryKeyWhereClause);
+            deleteSql = primaryKeyWhereClause == null ? null : "DELETE FROM %s%s".formatted(table, primaryKeyWhereClause);
+        }
+    }
+
+    /**
+     * @return The MERGE statement inserting or updating a row with all its columns, matched by the primary key
+     * column(s), or {@code null} if the model does not have both key and non-key columns; the parameters are the values
+     * of {@link #columns}. The MERGE syntax differs between database backends, so it is built for the dialect of the
+     * current connection (see {@link DatabaseHelper#getDialect()}) when it is used.
+     */
+    public String getMergeSql() {
+        if (nonKeyColumns.length == 0 || primaryKeys.length == 0) {
+            return null;
+        }
+        Dialect dialect = DatabaseHelper.getDialect();
+        return mergeSqls.computeIfAbsent(dialect.getName(), name -> {
+            String[] columnNames = new String[columns.length];
+            for (int index = 0; index < columns.length; index++) {
+                columnNames[index] = columns[index].name;
+            }
+            return dialect.getMergeSql(table, columnNames, primaryKeyNames);
+        });
+    }
+
+    /**
+     * @return Number of rows fetched from the database per round trip by the selections of the model class: the
+     * {@code fetchSize.<table>} property of the {@code database.properties} resource file if set, otherwise the value of
+     * the {@link FetchSize} annotation of the model class, otherwise {@link Model#DEFAULT_FETCH_SIZE}; the property is
+     * read on first use rather than when the metadata is gathered, which may happen before
+     * {@link DatabaseHelper#connect()} loads the properties
+     */
+    public int getFetchSize() {
+        int currentFetchSize = fetchSize;
+        if (currentFetchSize == 0) {
+            currentFetchSize = DatabaseHelper.getIntProperty("fetchSize." + table, defaultFetchSize);
+            if (currentFetchSize <= 0) {
+                currentFetchSize = Model.DEFAULT_FETCH_SIZE;
+            }
+            fetchSize = currentFetchSize;
+        }
+        return currentFetchSize;
+    }
+
+    /**
+     * Makes every model class read its settings from the {@code database.properties} resource file again on their next
+     * use; called by {@link DatabaseHelper#connect()} when the properties are (re)loaded
+     */
+    public static void resetSettings() {
+        for (ModelMetadata metadata : registry.values()) {
+            metadata.fetchSize = 0;
+        }
+    }
+
+    /**
+     * @param columns Non-key columns to update
+     * @return The SQL UPDATE statement setting the given columns of the row matching the primary key column(s);
+     * {@link #updateSql} if the columns are all the non-key columns
+     */
+    public String getUpdateSql(Column[] columns) {
+        if (columns == nonKeyColumns) {
+            return updateSql;
+        }
+        return "UPDATE %s SET %s%s".formatted(table, joinColumns(columns, "%s = ?", ", "), primaryKeyWhereClause);
+    }
+
+    /**
+     * @param columns   Columns to join
+     * @param format    Format applied to each column name
+     * @param separator Separator placed between each formatted column
+     * @return The formatted columns joined by the separator
+     */
+    public static String joinColumns(Column[] columns, String format, String separator) {
+        StringBuilder builder = new StringBuilder();
+        for (Column column : columns) {
+            if (!builder.isEmpty()) {
+                builder.append(separator);
+            }
+            builder.append(format.formatted(column.name));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @param <T> the type of the model extending {@link Model}
+     * @return A new instance of the model class, created without reflection
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Model> T newInstance() {
+        return (T) constructor.get();
+    }
+
+    /**
+     * @param model        The model instance to read the column values of
+     * @param columnGroups Groups of columns to read, in order
+     * @return The values of the columns for the model instance, flattened in order
+     */
+    public Object[] getValues(Model model, Column[]... columnGroups) {
+        int length = 0;
+        for (Column[] columnGroup : columnGroups) {
+            length += columnGroup.length;
+        }
+        Object[] values = new Object[length];
+        int index = 0;
+        for (Column[] columnGroup : columnGroups) {
+            for (Column column : columnGroup) {
+                values[index++] = column.get(model);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @param columnGroups Groups of columns, in order
+     * @return The {@link Column#sqlType} of the columns, flattened in order like {@link #getValues(Model, Column[]...)}
+     */
+    public int[] getSqlTypes(Column[]... columnGroups) {
+        int length = 0;
+        for (Column[] columnGroup : columnGroups) {
+            length += columnGroup.length;
+        }
+        int[] sqlTypes = new int[length];
+        int index = 0;
+        for (Column[] columnGroup : columnGroups) {
+            for (Column column : columnGroup) {
+                sqlTypes[index++] = column.sqlType;
+            }
+        }
+        return sqlTypes;
+    }
+
+    /**
+     * @param columns The columns to select
+     * @return The SQL SELECT statement (without any WHERE or ORDER BY clause) selecting the given columns
+     */
+    public String getSelectSql(Column[] columns) {
+        if (columns == this.columns) {
+            return selectSql;
+        }
+        return "SELECT %s FROM %s".formatted(joinColumns(columns, "%s", ", "), table);
+    }
+
+    /**
+     * @param columnNames Names of the columns to include in the projection
+     * @return The primary key column(s) and the named columns, in declaration order, or {@code null} if the model
+     * does not have a column with one of the names
+     */
+    public Column[] getProjection(String... columnNames) {
+        ArrayList<String> names = new ArrayList<>(List.of(columnNames));
+        ArrayList<Column> projection = new ArrayList<>();
+        for (Column column : columns) {
+            boolean named = names.remove(column.name);
+            if (named || column.primaryKey) {
+                projection.add(column);
+            }
+        }
+        return names.isEmpty() ? projection.toArray(new Column[0]) : null;
+    }
+
+    /**
+     * @param name Name of the column to find
+     * @return The column with the given name, or {@code null} if the model does not have such a column
+     */
+    public Column getColumn(String name) {
+        for (Column column : columns) {
+            if (column.name.equals(name)) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The {@link ModelMapper} generated for a model class, or {@code null} if none was generated (e.g., when
+     * the annotation processor did not run)
+     */
+    @SuppressWarnings("unchecked")
+    private static ModelMapper<Model> findMapper(Class<? extends Model> modelClass) throws ReflectiveOperationException {
+        Class<?> mapperClass;
+        try {
+            mapperClass = Class.forName(modelClass.getName() + "Mapper", true, modelClass.getClassLoader());
+        } catch (ClassNotFoundException exception) {
+            return null;
+        }
+        if (!ModelMapper.class.isAssignableFrom(mapperClass)) {
+            return null;
+        }
+        return (ModelMapper<Model>) mapperClass.getConstructor().newInstance();
+    }
+
+    /**
+     * Gets the reflection data for a model class, gathering it on first use; the {@code TABLE} field of the model
+     * class is read once, the public fields are walked once, and direct accessors are generated for each column
+     * <p>
+     * In the case of reflection-related exceptions (e.g., if the `TABLE` field does not exist or is inaccessible),
+     * an error message will be displayed, and the method will return {@code null}.
+     *
+     * @param modelClass The model class to get the reflection data of
+     * @return The reflection data for the model class, or {@code null} if an error occurred while gathering it
+     */
+    public static ModelMetadata get(Class<? extends Model> modelClass) {
+        ModelMetadata metadata = registry.get(modelClass);
+        if (metadata != null) {
+            return metadata;
+        }
+
+        try {
+            String table = modelClass.getDeclaredField("TABLE").get(null).toString();
+            metadata = new ModelMetadata(modelClass, table);
+        } catch (Throwable throwable) {
+            displayErrorDialog("Encountered an error while gathering reflection data for %s!\n\n%s", modelClass.getSimpleName(), throwable);
+            return null;
+        }
+        ModelMetadata existing = registry.putIfAbsent(modelClass, metadata);
+        return existing == null ? metadata : existing;
+    }
+}
@@ -0,0 +1,39 @@
+package MealPlanner.Models;
+
+/**
+ * A page of results returned by {@link Model#selectPage(int, Token)}
+ *
+ * @param <T> the type of the model extending {@link Model}
+ */
+public class Page<T extends Model> {
+    public final T[] results;
+    /**
+     * Continuation token to pass to {@link Model#selectPage(int, Token)} to get the next page, or {@code null} if
+     * this is the last page
+     */
+    public final Token next;
+
+    public Page(T[] results, Token next) {
+        this.results = results;
+        this.next = next;
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    /**
+     * Marks where a page ended; the keyset values of the last row are used to seek directly to the next page, while
+     * the number of rows already returned is used as an OFFSET when the model has no usable keyset
+     * (see {@link ModelMetadata#keysetColumns})
+     */
+    public static class Token {
+        final Object[] keyValues;
+        final int offset;
+
+        Token(Object[] keyValues, int offset) {
+            this.keyValues = keyValues;
+            this.offset = offset;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package MealPlanner.Models;
 
+import MealPlanner.Models.Annotations.Cacheable;
 import MealPlanner.Models.Annotations.Ignore;
 import MealPlanner.Models.Annotations.NotNull;
 import MealPlanner.Models.Annotations.PrimaryKey;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+
+@Cacheable
 public class Recipe extends Model {
     @Ignore public static final String TABLE = "recipe";
 
@@ -32,6 +37,45 @@ public class Recipe extends Model {
         return instructions;
     }
 
+    /**
+     * Resolves {@link #getIngredients()} for many recipes at once, along with the food items of the ingredients;
+     * see {@link Model#loadCollections}
+     */
+    public static boolean fetchIngredients(Recipe[] recipes) {
+        if (!loadCollections(recipes, recipe -> recipe.ingredients == null ? recipe.id : null,
+                RecipeIngredient.class, "recipe_id", (recipe, ingredients) -> recipe.ingredients = ingredients)) {
+            return false;
+        }
+
+        ArrayList<RecipeIngredient> ingredients = new ArrayList<>();
+        for (Recipe recipe : recipes) {
+            if (recipe.ingredients != null) {
+                ingredients.addAll(Arrays.asList(recipe.ingredients));
+            }
+        }
+        return RecipeIngredient.loadFoodItems(ingredients.toArray(new RecipeIngredient[0]));
+    }
+
+    /**
+     * Resolves {@link #getInstructions()} for many recipes at once; see {@link Model#loadCollections}
+     */
+    public static boolean fetchInstructions(Recipe[] recipes) {
+        return loadCollections(recipes, recipe -> recipe.instructions == null ? recipe.id : null,
+                RecipeInstruction.class, "recipe_id", (recipe, instructions) -> recipe.instructions = instructions);
+    }
+
+    /**
+     * Selects like {@link Model#select()}, fetching the ingredients (with their food items) and instructions of all
+     * the selected recipes in a constant number of queries
+     */
+    public Recipe[] selectWithChildren() {
+        Recipe[] recipes = select();
+        if (recipes == null || !fetchIngredients(recipes) || !fetchInstructions(recipes)) {
+            return null;
+        }
+        return recipes;
+    }
+
     public void clearCache() {
         ingredients = null;
         instructions = null;
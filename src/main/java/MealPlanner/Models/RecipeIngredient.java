@@ -2,6 +2,7 @@ package MealPlanner.Models;
 
 import MealPlanner.Models.Annotations.*;
 
+@FetchSize(500)
 public class RecipeIngredient extends Model {
     @Ignore public static final String TABLE = "recipe_ingredient";
 
@@ -14,17 +15,22 @@ public class RecipeIngredient extends Model {
 
     public FoodItem getFoodItem() {
         if (foodItem == null) {
-            FoodItem foodItemCriteria = new FoodItem();
-            foodItemCriteria.id = food_id;
-            FoodItem[] foodItems = foodItemCriteria.select();
-            if (foodItems == null || foodItems.length == 0) {
+            foodItem = find(FoodItem.class, food_id);
+            if (foodItem == null) {
                 throw new RuntimeException("Recipe ingredient does not have a food item associated with it! Recipe ID: %s, Food ID: %s".formatted(recipe_id, food_id));
             }
-            foodItem = foodItems[0];
         }
         return foodItem;
     }
 
+    /**
+     * Resolves {@link #getFoodItem()} for many recipe ingredients at once; see {@link Model#loadReferences}
+     */
+    public static boolean loadFoodItems(RecipeIngredient[] recipeIngredients) {
+        return loadReferences(recipeIngredients, recipeIngredient -> recipeIngredient.foodItem == null ? recipeIngredient.food_id : null,
+                FoodItem.class, (recipeIngredient, foodItem) -> recipeIngredient.foodItem = foodItem);
+    }
+
     public void clearCache() {
         foodItem = null;
     }
@@ -2,6 +2,7 @@ package MealPlanner.Models;
 
 import MealPlanner.Models.Annotations.*;
 
+@FetchSize(500)
 public class RecipeInstruction extends Model {
     @Ignore public static final String TABLE = "recipe_instruction";
 
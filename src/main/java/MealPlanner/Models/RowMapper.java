@@ -0,0 +1,100 @@
+package MealPlanner.Models;
+
+import MealPlanner.Models.ModelMetadata.Column;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the rows of a {@link ResultSet} to instances of a model class; the result set column index of every model
+ * column is resolved once when the mapper is created, so mapping a row is only a sequence of direct getter and
+ * setter calls (see {@link ModelMetadata#newInstance()} and {@link Column#set(Model, Object)}), or a single call to
+ * the generated {@link ModelMapper} of the model class when mapping all of its columns
+ *
+ * @param <T> the type of the model extending {@link Model}
+ */
+public class RowMapper<T extends Model> {
+    private static final int TYPE_OBJECT = 0;
+    private static final int TYPE_STRING = 1;
+    private static final int TYPE_NUMBER = 2;
+    private static final int TYPE_DATE = 3;
+
+    private final ModelMetadata metadata;
+    private final Column[] columns;
+    private final int[] columnIndexes;
+    private final int[] columnTypes;
+
+    /**
+     * @param metadata  Reflection data of the model class to map rows to
+     * @param columns   The model columns to map; other fields of the mapped instances are left {@code null}
+     * @param resultSet Result set to resolve the column indexes against; see {@link ResultSet#findColumn(String)}
+     * @throws SQLException If a model column is not present in the result set
+     */
+    public RowMapper(ModelMetadata metadata, Column[] columns, ResultSet resultSet) throws SQLException {
+        this.metadata = metadata;
+        this.columns = columns;
+
+        columnIndexes = new int[columns.length];
+        columnTypes = new int[columns.length];
+        for (int index = 0; index < columns.length; index++) {
+            Column column = columns[index];
+            columnIndexes[index] = resultSet.findColumn(column.name);
+            if (column.type == String.class) {
+                columnTypes[index] = TYPE_STRING;
+            } else if (column.type == Number.class) {
+                columnTypes[index] = TYPE_NUMBER;
+            } else if (column.type == Date.class) {
+                columnTypes[index] = TYPE_DATE;
+            } else {
+                columnTypes[index] = TYPE_OBJECT;
+            }
+        }
+    }
+
+    /**
+     * Maps all the columns of the model class; see {@link #RowMapper(ModelMetadata, Column[], ResultSet)}
+     */
+    public RowMapper(ModelMetadata metadata, ResultSet resultSet) throws SQLException {
+        this(metadata, metadata.columns, resultSet);
+    }
+
+    /**
+     * @param resultSet Result set positioned on the row to map
+     * @return A new model instance populated with the values of the current row, or the instance already registered
+     * for the row in the open {@link IdentityMap} (if any); rows mapped with all their columns are also stored in the
+     * {@link EntityCache}
+     * @throws SQLException May be thrown by the {@link ResultSet} getters
+     */
+    @SuppressWarnings("unchecked")
+    public T map(ResultSet resultSet) throws SQLException {
+        T result;
+        if (metadata.mapper != null && columns == metadata.columns) {
+            result = (T) metadata.mapper.map(resultSet, columnIndexes);
+        } else {
+            result = metadata.newInstance();
+            for (int index = 0; index < columns.length; index++) {
+                int columnIndex = columnIndexes[index];
+                Object value = switch (columnTypes[index]) {
+                    case TYPE_STRING -> resultSet.getString(columnIndex);
+                    case TYPE_NUMBER -> resultSet.getBigDecimal(columnIndex);
+                    // JDBC tries to return Timestamp for the Date class, causing errors
+                    case TYPE_DATE -> resultSet.getDate(columnIndex);
+                    default -> resultSet.getObject(columnIndex);
+                };
+                columns[index].set(result, value);
+            }
+        }
+
+        if (columns != metadata.columns) {
+            return result;
+        }
+        result.takeSnapshot(metadata);
+        EntityCache.put(metadata, result);
+        IdentityMap identityMap = IdentityMap.current();
+        if (identityMap != null && metadata.primaryKeys.length == 1) {
+            return identityMap.register(result, metadata.primaryKeys[0].get(result));
+        }
+        return result;
+    }
+}
@@ -12,17 +12,22 @@ public class ShoppingListItem extends Model {
 
     public FoodItem getFoodItem() {
         if (foodItem == null) {
-            FoodItem foodItemCriteria = new FoodItem();
-            foodItemCriteria.id = food_id;
-            FoodItem[] foodItems = foodItemCriteria.select();
-            if (foodItems == null || foodItems.length == 0) {
+            foodItem = find(FoodItem.class, food_id);
+            if (foodItem == null) {
                 throw new RuntimeException("Shopping list item does not have a food item associated with it! Food ID: %s".formatted(food_id));
             }
-            foodItem = foodItems[0];
         }
         return foodItem;
     }
 
+    /**
+     * Resolves {@link #getFoodItem()} for many shopping list items at once; see {@link Model#loadReferences}
+     */
+    public static boolean loadFoodItems(ShoppingListItem[] shoppingListItems) {
+        return loadReferences(shoppingListItems, shoppingListItem -> shoppingListItem.foodItem == null ? shoppingListItem.food_id : null,
+                FoodItem.class, (shoppingListItem, foodItem) -> shoppingListItem.foodItem = foodItem);
+    }
+
     public void clearCache() {
         foodItem = null;
     }
@@ -0,0 +1,144 @@
+package MealPlanner.Models;
+
+import MealPlanner.Models.Annotations.*;
+import MealPlanner.Models.ModelMetadata.Column;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Validation checks of a model class, compiled once from the {@link NotNull}, {@link CheckString},
+ * {@link CheckNumberGreaterThan}, {@link CheckNumberMinimum} and {@link CheckNumberBetween} annotations of its
+ * columns into a flat chain; columns without any of these annotations are left out of the chain entirely
+ */
+public class Validator {
+    /**
+     * A failed check of a column of a model instance
+     */
+    public static class Violation {
+        public final Model model;
+        public final String column;
+        public final String message;
+
+        Violation(Model model, String column, String message) {
+            this.model = model;
+            this.column = column;
+            this.message = message;
+        }
+
+        @Override
+        public String toString() {
+            return message;
+        }
+    }
+
+    /**
+     * The checks of one column; the checks are only applied to values that are not {@code null} or blank
+     */
+    private static class ColumnChecks {
+        final Column column;
+        final boolean notNull;
+        /**
+         * Each check returns the violation message for a value, or {@code null} if the value passes
+         */
+        final List<Function<Object, String>> checks;
+
+        ColumnChecks(Column column, boolean notNull, List<Function<Object, String>> checks) {
+            this.column = column;
+            this.notNull = notNull;
+            this.checks = checks;
+        }
+    }
+
+    private final ColumnChecks[] chain;
+
+    @SuppressWarnings("unchecked")
+    Validator(Column[] columns) {
+        ArrayList<ColumnChecks> chainList = new ArrayList<>();
+        for (Column column : columns) {
+            ArrayList<Function<Object, String>> checks = new ArrayList<>();
+
+            CheckString checkString = column.checkString;
+            if (checkString != null) {
+                HashSet<String> checkValues = new HashSet<>(List.of(checkString.value()));
+                String message = "Value for field '%s' must be one of the following: %s".formatted(column.name, String.join(", ", checkString.value()));
+                checks.add(value -> checkValues.contains((String) value) ? null : message);
+            }
+
+            CheckNumberGreaterThan checkNumberGreaterThan = column.checkNumberGreaterThan;
+            if (checkNumberGreaterThan != null) {
+                int checkValue = checkNumberGreaterThan.value();
+                String message = "Value for field '%s' must be greater than %d!".formatted(column.name, checkValue);
+                checks.add(value -> ((Number) value).doubleValue() <= checkValue ? message : null);
+            }
+
+            CheckNumberMinimum checkNumberMinimum = column.checkNumberMinimum;
+            if (checkNumberMinimum != null) {
+                int checkValue = checkNumberMinimum.value();
+                String message = "Value for field '%s' must be greater than or equal to %d!".formatted(column.name, checkValue);
+                checks.add(value -> ((Number) value).doubleValue() < checkValue ? message : null);
+            }
+
+            CheckNumberBetween checkNumberBetween = column.checkNumberBetween;
+            if (checkNumberBetween != null) {
+                int checkMin = checkNumberBetween.min();
+                int checkMax = checkNumberBetween.max();
+                String message = "Value for field '%s' must be between %d and %d!".formatted(column.name, checkMin, checkMax);
+                checks.add(value -> {
+                    double valueDouble = ((Number) value).doubleValue();
+                    return valueDouble < checkMin || valueDouble > checkMax ? message : null;
+                });
+            }
+
+            if (column.notNull || !checks.isEmpty()) {
+                chainList.add(new ColumnChecks(column, column.notNull, List.copyOf(checks)));
+            }
+        }
+        chain = chainList.toArray(new ColumnChecks[0]);
+    }
+
+    /**
+     * @param model      The model instance to validate
+     * @param violations List to add the violations to, or {@code null} to stop at the first violation
+     * @return The first violation, or {@code null} if the model instance passes all the checks
+     */
+    Violation validate(Model model, List<Violation> violations) {
+        Violation first = null;
+        for (ColumnChecks columnChecks : chain) {
+            Column column = columnChecks.column;
+            Object value = column.get(model);
+            if (value == null || (value instanceof String && ((String) value).isBlank())) {
+                if (columnChecks.notNull) {
+                    Violation violation = new Violation(model, column.name, "Please enter a valid value for field '%s'!".formatted(column.name));
+                    if (violations == null) {
+                        return violation;
+                    }
+                    violations.add(violation);
+                    if (first == null) {
+                        first = violation;
+                    }
+                }
+                continue;
+            }
+
+            for (Function<Object, String> check : columnChecks.checks) {
+                String message = check.apply(value);
+                if (message == null) {
+                    continue;
+                }
+                Violation violation = new Violation(model, column.name, message);
+                if (violations == null) {
+                    return violation;
+                }
+                violations.add(violation);
+                if (first == null) {
+                    first = violation;
+                }
+                break;
+            }
+        }
+        return first;
+    }
+}
@@ -0,0 +1,74 @@
+package MealPlanner;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * A database connection borrowed from a {@link ConnectionPool}; closing it returns it to the pool instead of closing
+ * the underlying {@link Connection}, so it is meant to be borrowed per operation in a try-with-resources statement
+ * (see {@link DatabaseHelper#getConnection()})
+ */
+public class PooledConnection implements AutoCloseable {
+    private final ConnectionPool pool;
+    final Connection connection;
+    final StatementCache statementCache;
+
+    /**
+     * When the connection was last returned to the pool or validated, in milliseconds; see
+     * {@link System#currentTimeMillis()}
+     */
+    long lastUsed;
+
+    /**
+     * Whether the connection is currently borrowed; set by {@link ConnectionPool#borrow()} and cleared by
+     * {@link #close()}, so closing it again does not return it to the pool twice
+     */
+    private boolean borrowed = false;
+
+    PooledConnection(ConnectionPool pool, Connection connection, int statementCacheSize) {
+        this.pool = pool;
+        this.connection = connection;
+        this.statementCache = new StatementCache(connection, statementCacheSize);
+        this.lastUsed = System.currentTimeMillis();
+    }
+
+    /**
+     * @return The underlying JDBC connection, which must not be closed directly
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Prepares a statement through the {@link StatementCache} of the connection; closing the statement returns it to
+     * the cache
+     *
+     * @param sql         SQL statement to prepare; see {@link Connection#prepareStatement(String)}
+     * @param columnNames Column names to return from the inserted row(s), or {@code null}; see
+     *                    {@link Connection#prepareStatement(String, String[])}
+     * @return The prepared statement
+     * @throws SQLException May be thrown by {@link Connection#prepareStatement(String)}
+     */
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        return statementCache.prepare(sql, columnNames);
+    }
+
+    synchronized void setBorrowed() {
+        borrowed = true;
+    }
+
+    /**
+     * Returns the connection to the pool; does nothing if it was already returned
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!borrowed) {
+                return;
+            }
+            borrowed = false;
+        }
+        pool.release(this);
+    }
+}
@@ -0,0 +1,275 @@
+package MealPlanner;
+
+import MealPlanner.Dialects.Dialect;
+import MealPlanner.Models.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static MealPlanner.Main.displayErrorDialog;
+
+/**
+ * Brings the database schema up to date by applying the migration scripts that have not been applied yet, recording
+ * each applied script with its checksum in the {@link #VERSION_TABLE} table
+ * <p>
+ * The migration scripts are the resource files {@code migrations/<dialect>/V<version>__<description>.sql} listed in
+ * {@link #MIGRATIONS}, with statements separated by lines containing only {@code /}. Once applied, a script must not
+ * be changed; changes to the schema are made by adding a new script with the next version.
+ */
+public class SchemaMigrator {
+    public static final String VERSION_TABLE = "schema_version";
+
+    /**
+     * The migration scripts, in the order they are applied; the version of each script is its index plus one
+     */
+    private static final String[] MIGRATIONS = {
+            "V1__schema.sql",
+            "V2__seed_data.sql"
+    };
+
+    /**
+     * The last version created by the setup script used before migrations were introduced; a database created by it
+     * (all model tables exist, but not the {@link #VERSION_TABLE} table) is recorded as being at this version without
+     * applying any script
+     */
+    private static final int BASELINE_VERSION = 2;
+
+    private static final String[] MODEL_TABLES = {
+            FoodItem.TABLE, FridgeItem.TABLE, Meal.TABLE, MealPlan.TABLE, Recipe.TABLE, RecipeIngredient.TABLE,
+            RecipeInstruction.TABLE, ShoppingListItem.TABLE
+    };
+
+    /**
+     * @return The version of the last migration script, which the schema is at after {@link #migrate()}
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.length;
+    }
+
+    private static class Migration {
+        final int version;
+        final String description;
+        final String resource;
+        final String script;
+        final String checksum;
+
+        Migration(int version, String description, String resource, String script, String checksum) {
+            this.version = version;
+            this.description = description;
+            this.resource = resource;
+            this.script = script;
+            this.checksum = checksum;
+        }
+    }
+
+    /**
+     * Reads the applied versions and their checksums with a single query, then applies the missing migrations; if the
+     * {@link #VERSION_TABLE} table does not exist yet, it is created first, and an existing database created before
+     * migrations were introduced is baselined at {@link #BASELINE_VERSION}
+     * <p>
+     * In case of SQL exceptions, a changed applied script, or a database with only some of the model tables, an
+     * appropriate error dialog is displayed, and the method will return {@code false}.
+     *
+     * @return {@code true} if the schema is up to date; {@code false} otherwise.
+     */
+    public static boolean migrate() {
+        Dialect dialect = DatabaseHelper.getDialect();
+        try (PooledConnection connection = DatabaseHelper.getConnection()) {
+            Map<Integer, String> applied = versionTableExists(connection) ? getAppliedVersions(connection)
+                    : createVersionTable(connection, dialect);
+            if (applied == null) {
+                return false;
+            }
+
+            for (int index = 0; index < MIGRATIONS.length; index++) {
+                int version = index + 1;
+                String appliedChecksum = applied.get(version);
+                Migration migration = readMigration(dialect, version, MIGRATIONS[index]);
+                if (migration == null) {
+                    return false;
+                }
+
+                if (appliedChecksum != null) {
+                    if (!appliedChecksum.equals(migration.checksum)) {
+                        displayErrorDialog("Migration %s was changed after it was applied to the database!", migration.resource);
+                        return false;
+                    }
+                    continue;
+                }
+                if (!apply(connection, dialect, migration)) {
+                    return false;
+                }
+            }
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while migrating the database!\n\n%s", exception);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return Whether the {@link #VERSION_TABLE} table exists in the schema of the connection, according to its
+     * {@link DatabaseMetaData}; other errors (e.g., a missing permission) are thrown rather than taken for a missing table
+     */
+    private static boolean versionTableExists(PooledConnection connection) throws SQLException {
+        Connection jdbcConnection = connection.getConnection();
+        DatabaseMetaData metaData = jdbcConnection.getMetaData();
+        // unquoted identifiers are stored in the case of the database (upper case in Oracle and H2)
+        String table = metaData.storesUpperCaseIdentifiers() ? VERSION_TABLE.toUpperCase(Locale.ROOT)
+                : metaData.storesLowerCaseIdentifiers() ? VERSION_TABLE.toLowerCase(Locale.ROOT) : VERSION_TABLE;
+        String escape = metaData.getSearchStringEscape();
+        String pattern = escape == null ? table : table.replace("_", escape + "_");
+        try (ResultSet resultSet = metaData.getTables(jdbcConnection.getCatalog(), jdbcConnection.getSchema(), pattern,
+                new String[]{"TABLE"})) {
+            return resultSet.next();
+        }
+    }
+
+    /**
+     * @return The checksum of each applied version
+     */
+    private static Map<Integer, String> getAppliedVersions(PooledConnection connection) throws SQLException {
+        LinkedHashMap<Integer, String> applied = new LinkedHashMap<>();
+        try (Statement statement = connection.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT version, checksum FROM %s ORDER BY version".formatted(VERSION_TABLE))) {
+            while (resultSet.next()) {
+                applied.put(resultSet.getInt(1), resultSet.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Creates the {@link #VERSION_TABLE} table, baselining a database created before migrations were introduced
+     *
+     * @return The checksum of each baselined version, or {@code null} if an error occurred
+     */
+    private static Map<Integer, String> createVersionTable(PooledConnection connection, Dialect dialect) throws SQLException {
+        HashSet<String> tables = new HashSet<>();
+        try (PreparedStatement statement = DatabaseHelper.prepareStatement(connection, dialect.getTableNamesSql());
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                tables.add(resultSet.getString(1));
+            }
+        }
+
+        int existingTables = 0;
+        for (String table : MODEL_TABLES) {
+            if (tables.contains(table.toUpperCase())) {
+                existingTables++;
+            }
+        }
+        if (existingTables > 0 && existingTables < MODEL_TABLES.length) {
+            displayErrorDialog("The database contains only some of the tables of the application!\n\n"
+                    + "Drop the remaining tables or restore the missing ones before starting the application.");
+            return null;
+        }
+
+        try (Statement statement = connection.getConnection().createStatement()) {
+            statement.executeUpdate(("CREATE TABLE %s (version INTEGER NOT NULL PRIMARY KEY, description VARCHAR(255) NOT NULL,"
+                    + " checksum VARCHAR(64) NOT NULL, installed_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL)").formatted(VERSION_TABLE));
+        }
+
+        LinkedHashMap<Integer, String> applied = new LinkedHashMap<>();
+        if (existingTables == 0) {
+            return applied;
+        }
+        for (int version = 1; version <= BASELINE_VERSION; version++) {
+            Migration migration = readMigration(dialect, version, MIGRATIONS[version - 1]);
+            if (migration == null) {
+                return null;
+            }
+            recordVersion(connection, migration);
+            applied.put(version, migration.checksum);
+        }
+        return applied;
+    }
+
+    /**
+     * @return The migration script of the given version, or {@code null} if it could not be read
+     */
+    private static Migration readMigration(Dialect dialect, int version, String fileName) {
+        String resource = "migrations/%s/%s".formatted(dialect.getName(), fileName);
+        try (InputStream stream = SchemaMigrator.class.getClassLoader().getResourceAsStream(resource)) {
+            if (stream == null) {
+                displayErrorDialog("Failed to read the database migration file %s!", resource);
+                return null;
+            }
+
+            // line endings are normalized so the checksum does not depend on how the file was checked out
+            String script = new String(stream.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+            String description = fileName.substring(fileName.indexOf("__") + 2, fileName.lastIndexOf('.')).replace('_', ' ');
+            return new Migration(version, description, resource, script, checksum(script));
+        } catch (IOException exception) {
+            displayErrorDialog("Encountered an error while reading the database migration file %s!\n\n%s", resource, exception);
+        }
+        return null;
+    }
+
+    private static String checksum(String script) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(script.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder();
+            for (byte digestByte : digest) {
+                builder.append("%02x".formatted(digestByte));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception); // every Java platform supports SHA-256
+        }
+    }
+
+    /**
+     * @return The statements of a script, separated by lines containing only {@code /}
+     */
+    static ArrayList<String> splitStatements(String script) {
+        ArrayList<String> statements = new ArrayList<>();
+        StringBuilder builder = new StringBuilder();
+        for (String line : script.split("\n")) {
+            if (line.trim().equals("/")) {
+                if (!builder.toString().isBlank()) {
+                    statements.add(builder.toString().trim());
+                }
+                builder.setLength(0);
+                continue;
+            }
+            builder.append(line).append('\n');
+        }
+        if (!builder.toString().isBlank()) {
+            statements.add(builder.toString().trim());
+        }
+        return statements;
+    }
+
+    /**
+     * Applies a migration script with a {@link ScriptRunner}, so its statements are sent in as few round trips as the
+     * dialect allows
+     */
+    private static boolean apply(PooledConnection connection, Dialect dialect, Migration migration) throws SQLException {
+        try {
+            new ScriptRunner(connection, dialect).run(migration.resource, splitStatements(migration.script));
+        } catch (SQLException exception) {
+            displayErrorDialog("Encountered an error while applying migration %s!\n\n%s", migration.resource, exception);
+            return false;
+        }
+        recordVersion(connection, migration);
+        return true;
+    }
+
+    private static void recordVersion(PooledConnection connection, Migration migration) throws SQLException {
+        try (PreparedStatement statement = DatabaseHelper.prepareStatement(connection,
+                "INSERT INTO %s (version, description, checksum) VALUES (?, ?, ?)".formatted(VERSION_TABLE),
+                migration.version, migration.description, migration.checksum)) {
+            statement.executeUpdate();
+        }
+    }
+}
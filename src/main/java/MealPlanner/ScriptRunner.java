@@ -0,0 +1,121 @@
+package MealPlanner;
+
+import MealPlanner.Dialects.Dialect;
+import MealPlanner.Models.Model;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Executes the statements of a SQL script in as few round trips as possible: consecutive statements of the same kind
+ * (DDL, or DML such as seed data inserts) form a phase, and each phase is sent in chunks of up to
+ * {@link Model#BATCH_SIZE} statements, either as one block of the {@link Dialect} (see
+ * {@link Dialect#getBlockSql(List, boolean)}) or, if the dialect has no blocks, as one JDBC batch
+ * <p>
+ * The order of the statements is kept, so a statement may depend on any statement before it. The number of
+ * statements, round trips and the time taken by each phase are printed once the script has run, if
+ * {@link DatabaseHelper#DEBUG} is set.
+ */
+public class ScriptRunner {
+    private enum Kind {
+        DDL, DML
+    }
+
+    private static class Phase {
+        final Kind kind;
+        final ArrayList<String> statements = new ArrayList<>();
+        int roundTrips = 0;
+        long nanos = 0;
+
+        Phase(Kind kind) {
+            this.kind = kind;
+        }
+    }
+
+    private final PooledConnection connection;
+    private final Dialect dialect;
+
+    /**
+     * @param connection The borrowed connection to execute the statements with
+     * @param dialect    The dialect of the database
+     */
+    public ScriptRunner(PooledConnection connection, Dialect dialect) {
+        this.connection = connection;
+        this.dialect = dialect;
+    }
+
+    private static Kind getKind(String sql) {
+        String keyword = sql.stripLeading().split("\\s+", 2)[0].toUpperCase(Locale.ROOT);
+        return switch (keyword) {
+            case "INSERT", "UPDATE", "DELETE", "MERGE" -> Kind.DML;
+            default -> Kind.DDL;
+        };
+    }
+
+    /**
+     * @param name       The name of the script, for the timings and error messages
+     * @param statements The statements of the script, in order
+     * @throws SQLException If a statement failed; the message names the phase of the failed statement
+     */
+    public void run(String name, List<String> statements) throws SQLException {
+        ArrayList<Phase> phases = new ArrayList<>();
+        for (String sql : statements) {
+            Kind kind = getKind(sql);
+            if (phases.isEmpty() || phases.get(phases.size() - 1).kind != kind) {
+                phases.add(new Phase(kind));
+            }
+            phases.get(phases.size() - 1).statements.add(sql);
+        }
+
+        long start = System.nanoTime();
+        try (Statement statement = connection.getConnection().createStatement()) {
+            for (int index = 0; index < phases.size(); index++) {
+                Phase phase = phases.get(index);
+                long phaseStart = System.nanoTime();
+                try {
+                    runPhase(statement, phase);
+                } catch (SQLException exception) {
+                    throw new SQLException("%s failed in phase %d (%s, %d statements): %s".formatted(name, index + 1,
+                            phase.kind, phase.statements.size(), exception.getMessage()), exception.getSQLState(),
+                            exception.getErrorCode(), exception);
+                }
+                phase.nanos = System.nanoTime() - phaseStart;
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        if (!DatabaseHelper.DEBUG) {
+            return;
+        }
+
+        StringBuilder report = new StringBuilder("%s: %d statements in %d round trips, %.1f ms".formatted(name,
+                statements.size(), phases.stream().mapToInt(phase -> phase.roundTrips).sum(), nanos / 1e6));
+        for (int index = 0; index < phases.size(); index++) {
+            Phase phase = phases.get(index);
+            report.append("%n  phase %d (%s): %d statements in %d round trips, %.1f ms".formatted(index + 1,
+                    phase.kind, phase.statements.size(), phase.roundTrips, phase.nanos / 1e6));
+        }
+        System.out.println(report);
+    }
+
+    private void runPhase(Statement statement, Phase phase) throws SQLException {
+        boolean ddl = phase.kind == Kind.DDL;
+        for (int start = 0; start < phase.statements.size(); start += Model.BATCH_SIZE) {
+            List<String> chunk = phase.statements.subList(start, Math.min(start + Model.BATCH_SIZE, phase.statements.size()));
+            String blockSql = chunk.size() == 1 ? null : dialect.getBlockSql(chunk, ddl);
+            if (blockSql != null) {
+                statement.execute(blockSql);
+            } else if (chunk.size() == 1) {
+                statement.execute(chunk.get(0));
+            } else {
+                for (String sql : chunk) {
+                    statement.addBatch(sql);
+                }
+                statement.executeBatch();
+            }
+            phase.roundTrips++;
+        }
+    }
+}
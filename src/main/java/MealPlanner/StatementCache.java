@@ -0,0 +1,223 @@
+package MealPlanner;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of the prepared statements of a {@link PooledConnection}, keyed by SQL text and returned column names and
+ * bounded to the {@link #maxSize} least recently used statements, so a statement executed repeatedly (e.g., the
+ * selection of a row by its primary key) is only parsed once per connection
+ * <p>
+ * The statements handed out by {@link #prepare(String, String[])} are still closed by their callers as usual: closing
+ * one closes its result sets, clears its parameters and batch, and returns it to the cache instead of closing it. A
+ * statement is removed from the cache while it is in use, so preparing the same SQL twice before closing the first
+ * statement yields two distinct statements.
+ */
+public class StatementCache {
+    private static long hits;
+    private static long misses;
+    private static long evictions;
+
+    private final Connection connection;
+    private final int maxSize;
+    private boolean closed = false;
+
+    /**
+     * Idle statements, least recently used first
+     */
+    private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+            if (size() > maxSize) {
+                synchronized (StatementCache.class) {
+                    evictions++;
+                }
+                eldest.getValue().closeStatement();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * A statement handed out by the cache; intercepts {@link PreparedStatement#close()} and
+     * {@link PreparedStatement#isClosed()}, and keeps track of the result sets to close on release
+     */
+    private class CachedStatement implements InvocationHandler {
+        final String key;
+        final PreparedStatement statement;
+        final PreparedStatement proxy;
+        final int defaultFetchSize;
+        final ArrayList<ResultSet> resultSets = new ArrayList<>();
+        boolean inUse = true;
+
+        CachedStatement(String key, PreparedStatement statement) throws SQLException {
+            this.key = key;
+            this.statement = statement;
+            this.defaultFetchSize = statement.getFetchSize();
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (method.getParameterCount() == 0) {
+                        release(this);
+                        return null;
+                    }
+                    break;
+                case "isClosed":
+                    if (method.getParameterCount() == 0) {
+                        return !inUse;
+                    }
+                    break;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(statement, args);
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+            if (result instanceof ResultSet) {
+                resultSets.add((ResultSet) result);
+            }
+            return result;
+        }
+
+        /**
+         * Resets the state left over by the last user of the statement
+         *
+         * @return {@code true} if the statement can be reused; {@code false} otherwise.
+         */
+        boolean reset() {
+            try {
+                for (ResultSet resultSet : resultSets) {
+                    resultSet.close();
+                }
+                resultSets.clear();
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.setFetchSize(defaultFetchSize);
+                return !statement.isClosed();
+            } catch (SQLException exception) {
+                return false;
+            }
+        }
+
+        void closeStatement() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    /**
+     * @param connection The connection to prepare the statements with
+     * @param maxSize    Maximum number of idle statements kept open; if 0, every statement is closed when released
+     */
+    StatementCache(Connection connection, int maxSize) {
+        this.connection = connection;
+        this.maxSize = Math.max(maxSize, 0);
+    }
+
+    /**
+     * @param sql         SQL statement to prepare; see {@link Connection#prepareStatement(String)}
+     * @param columnNames Column names to return from the inserted row(s), or {@code null}; see
+     *                    {@link Connection#prepareStatement(String, String[])}
+     * @return A cached statement if an idle one was prepared with the same SQL and column names; otherwise, a newly
+     * prepared statement that will be cached when closed
+     * @throws SQLException May be thrown by {@link Connection#prepareStatement(String)}
+     */
+    PreparedStatement prepare(String sql, String[] columnNames) throws SQLException {
+        boolean returnsColumns = columnNames != null && columnNames.length > 0;
+        if (maxSize == 0) {
+            return returnsColumns ? connection.prepareStatement(sql, columnNames) : connection.prepareStatement(sql);
+        }
+
+        String key = returnsColumns ? sql + '\0' + String.join(",", columnNames) : sql;
+        synchronized (this) {
+            CachedStatement cachedStatement = statements.remove(key);
+            if (cachedStatement != null) {
+                synchronized (StatementCache.class) {
+                    hits++;
+                }
+                cachedStatement.inUse = true;
+                return cachedStatement.proxy;
+            }
+        }
+        synchronized (StatementCache.class) {
+            misses++;
+        }
+
+        PreparedStatement statement = returnsColumns
+                ? connection.prepareStatement(sql, columnNames) : connection.prepareStatement(sql);
+        try {
+            return new CachedStatement(key, statement).proxy;
+        } catch (SQLException exception) {
+            statement.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns a closed statement to the cache, or closes it if it cannot be reused
+     */
+    private void release(CachedStatement cachedStatement) {
+        synchronized (this) {
+            if (!cachedStatement.inUse) {
+                return; // already released
+            }
+            cachedStatement.inUse = false;
+            if (!closed && !statements.containsKey(cachedStatement.key) && cachedStatement.reset()) {
+                statements.put(cachedStatement.key, cachedStatement);
+                return;
+            }
+        }
+        cachedStatement.closeStatement();
+    }
+
+    /**
+     * Closes all the idle statements; statements still in use are closed when released
+     */
+    synchronized void close() {
+        closed = true;
+        for (CachedStatement cachedStatement : statements.values()) {
+            cachedStatement.closeStatement();
+        }
+        statements.clear();
+    }
+
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    public static synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return A summary of the hit/miss statistics of all statement caches, e.g. for debugging output
+     */
+    public static synchronized String getStatistics() {
+        long lookups = hits + misses;
+        return "%d hits, %d misses (%.1f%% hit rate), %d evictions".formatted(hits, misses,
+                lookups == 0 ? 0.0 : hits * 100.0 / lookups, evictions);
+    }
+}
@@ -0,0 +1,128 @@
+CREATE TABLE meal_plan
+(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL
+        PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    week_start DATE NOT NULL
+)
+/
+
+CREATE TABLE recipe
+(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL
+        PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    category VARCHAR(255) DEFAULT NULL
+)
+/
+
+CREATE TABLE meal
+(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL
+        PRIMARY KEY,
+    plan_id BIGINT NOT NULL
+        REFERENCES meal_plan (id)
+            ON DELETE CASCADE,
+    day INTEGER NOT NULL
+        CHECK (day >= 1 AND day <= 7),
+    type VARCHAR(9) NOT NULL
+        CHECK (type IN ('breakfast', 'lunch', 'dinner')),
+    recipe_id BIGINT NOT NULL
+        REFERENCES recipe (id)
+            ON DELETE CASCADE
+)
+/
+
+CREATE INDEX meal_plan_id_idx ON meal (plan_id)
+/
+
+CREATE TABLE recipe_instruction
+(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL
+        PRIMARY KEY,
+    recipe_id BIGINT NOT NULL
+        REFERENCES recipe (id)
+            ON DELETE CASCADE,
+    step INTEGER NOT NULL
+        CHECK (step > 0),
+    instruction VARCHAR(255) NOT NULL
+)
+/
+
+CREATE INDEX recipe_instruction_recipe_id_idx ON recipe_instruction (recipe_id)
+/
+
+CREATE TABLE food_item
+(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL
+        PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    food_group VARCHAR(9) DEFAULT NULL
+        CHECK (food_group IN ('fruit', 'vegetable', 'grains', 'protein', 'dairy')),
+    unit VARCHAR(255) NOT NULL,
+    calories NUMERIC(38, 3) DEFAULT NULL
+        CHECK (calories >= 0),
+    fat NUMERIC(38, 3) DEFAULT NULL -- all nutrition facts are store in milligrams (1g = 1000mg)
+        CHECK (fat >= 0),
+    cholesterol NUMERIC(38, 3) DEFAULT NULL
+        CHECK (cholesterol >= 0),
+    sodium NUMERIC(38, 3) DEFAULT NULL
+        CHECK (sodium >= 0),
+    carbohydrates NUMERIC(38, 3) DEFAULT NULL
+        CHECK (carbohydrates >= 0),
+    dietary_fiber NUMERIC(38, 3) DEFAULT NULL
+        CHECK (dietary_fiber >= 0),
+    sugars NUMERIC(38, 3) DEFAULT NULL
+        CHECK (sugars >= 0),
+    protein NUMERIC(38, 3) DEFAULT NULL
+        CHECK (protein >= 0)
+)
+/
+
+CREATE TABLE recipe_ingredient
+(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL
+        PRIMARY KEY,
+    recipe_id BIGINT NOT NULL
+        REFERENCES recipe (id)
+            ON DELETE CASCADE,
+    food_id BIGINT NOT NULL
+        REFERENCES food_item (id)
+            ON DELETE CASCADE,
+    quantity NUMERIC(38, 3) NOT NULL
+        CHECK (quantity > 0)
+)
+/
+
+CREATE INDEX recipe_ingredient_recipe_id_idx ON recipe_ingredient (recipe_id)
+/
+
+CREATE TABLE fridge_item
+(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL
+        PRIMARY KEY,
+    food_id BIGINT NOT NULL
+        REFERENCES food_item (id)
+            ON DELETE CASCADE,
+    quantity NUMERIC(38, 3) NOT NULL
+        CHECK (quantity > 0)
+)
+/
+
+CREATE OR REPLACE VIEW shopping_list_item AS
+SELECT rn.food_id,
+       GREATEST(rn.needed_quantity - COALESCE(fs.available_quantity, 0), 0) AS quantity
+FROM (SELECT fi.id                         AS food_id,
+             COALESCE(SUM(ri.quantity), 0) AS needed_quantity
+      FROM food_item fi
+               LEFT JOIN recipe_ingredient ri ON fi.id = ri.food_id
+               LEFT JOIN meal m ON ri.recipe_id = m.recipe_id
+               LEFT JOIN meal_plan mp ON m.plan_id = mp.id
+      WHERE mp.week_start >= CURRENT_DATE - INTERVAL '1' DAY
+      GROUP BY fi.id) rn
+         LEFT JOIN (SELECT food_id,
+                           COALESCE(SUM(quantity), 0) AS available_quantity
+                    FROM fridge_item
+                    GROUP BY food_id) fs ON rn.food_id = fs.food_id
+WHERE GREATEST(rn.needed_quantity - COALESCE(fs.available_quantity, 0), 0) > 0
+/
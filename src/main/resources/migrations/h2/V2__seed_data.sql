@@ -0,0 +1,119 @@
+INSERT INTO meal_plan
+VALUES (DEFAULT, 'Finals Week', DATE '2025-05-11')
+/
+
+INSERT INTO recipe
+VALUES (DEFAULT, 'Peanut Butter and Jelly Sandwich', 'Main Dish')
+/
+
+INSERT INTO food_item
+VALUES (DEFAULT, 'White Sandwich Bread', 'grains', 'slice', 77, 1000, NULL, 142, 14000, 800, 1600, 2600)
+/
+
+INSERT INTO recipe_ingredient
+VALUES (DEFAULT, 1, 1, 2)
+/
+
+INSERT INTO fridge_item
+VALUES (DEFAULT, 1, 26)
+/
+
+INSERT INTO food_item
+VALUES (DEFAULT, 'Peanut Butter', 'protein', 'tablespoon', 94, 8000, NULL, 76, 3900, 900, 1100, 3500)
+/
+
+INSERT INTO recipe_ingredient
+VALUES (DEFAULT, 1, 2, 2)
+/
+
+INSERT INTO food_item
+VALUES (DEFAULT, 'Grape Jelly', 'fruit', 'teaspoon', 19, NULL, NULL, 2, 500, 67, 367, NULL)
+/
+
+INSERT INTO recipe_ingredient
+VALUES (DEFAULT, 1, 3, 2)
+/
+
+INSERT INTO recipe_instruction
+VALUES (DEFAULT, 1, 1, 'Spread the peanut butter on one side of a slice of bread.')
+/
+
+INSERT INTO recipe_instruction
+VALUES (DEFAULT, 1, 2, 'Spread the grape jelly on one side of the other slice of bread.')
+/
+
+INSERT INTO recipe_instruction
+VALUES (DEFAULT, 1, 3, 'Put the two slices of bread together to form a sandwich.')
+/
+
+INSERT INTO meal
+VALUES (DEFAULT, 1, 1, 'lunch', 1)
+/
+
+INSERT INTO recipe
+VALUES (DEFAULT, 'Cheeseburger', 'Main Dish')
+/
+
+INSERT INTO food_item
+VALUES (DEFAULT, 'Hamburger Bun', 'grains', 'roll', 128, 1700, NULL, 230, 23000, 100, 2900, 4500)
+/
+
+INSERT INTO recipe_ingredient
+VALUES (DEFAULT, 2, 4, 2)
+/
+
+INSERT INTO food_item
+VALUES (DEFAULT, 'Beef', 'protein', 'ounce', 308, 20000, 101, 103, NULL, NULL, NULL, 31000)
+/
+
+INSERT INTO recipe_ingredient
+VALUES (DEFAULT, 2, 5, 4)
+/
+
+INSERT INTO fridge_item
+VALUES (DEFAULT, 5, 12)
+/
+
+INSERT INTO food_item
+VALUES (DEFAULT, 'Lettuce', 'vegetable', 'leaf', 16, 300, NULL, 7, 310, 2000, 1100, 1200)
+/
+
+INSERT INTO recipe_ingredient
+VALUES (DEFAULT, 2, 6, 2)
+/
+
+INSERT INTO food_item
+VALUES (DEFAULT, 'Cheese', 'dairy', 'slice', 113, 9300, 28, 183, 900, NULL, 100, 6400)
+/
+
+INSERT INTO recipe_ingredient
+VALUES (DEFAULT, 2, 7, 1)
+/
+
+INSERT INTO recipe_instruction
+VALUES (DEFAULT, 2, 1, 'Mold beef into shape of patty.')
+/
+
+INSERT INTO recipe_instruction
+VALUES (DEFAULT, 2, 2, 'Cook beef over oven for 25 minutes at 350 degrees.')
+/
+
+INSERT INTO recipe_instruction
+VALUES (DEFAULT, 2, 3, 'Put beef between two buns.')
+/
+
+INSERT INTO recipe_instruction
+VALUES (DEFAULT, 2, 4, 'Add cheese and lettuce on top.')
+/
+
+INSERT INTO meal
+VALUES (DEFAULT, 1, 2, 'breakfast', 1)
+/
+
+INSERT INTO meal
+VALUES (DEFAULT, 1, 2, 'dinner', 2)
+/
+
+INSERT INTO meal_plan
+VALUES (DEFAULT, 'Week After Finals', DATE '2025-05-18')
+/
@@ -1,9 +1,3 @@
-BEGIN
-    EXECUTE IMMEDIATE 'DROP TABLE meal_plan CASCADE CONSTRAINTS';
-EXCEPTION
-    WHEN OTHERS THEN IF SQLCODE != -0942 THEN RAISE; END IF;
-END;
-/
 CREATE TABLE meal_plan
 (
     id NUMBER GENERATED BY DEFAULT AS IDENTITY NOT NULL
@@ -13,12 +7,6 @@ CREATE TABLE meal_plan
 )
 /
 
-BEGIN
-    EXECUTE IMMEDIATE 'DROP TABLE recipe CASCADE CONSTRAINTS';
-EXCEPTION
-    WHEN OTHERS THEN IF SQLCODE != -0942 THEN RAISE; END IF;
-END;
-/
 CREATE TABLE recipe
 (
     id NUMBER GENERATED BY DEFAULT AS IDENTITY NOT NULL
@@ -28,12 +16,6 @@ CREATE TABLE recipe
 )
 /
 
-BEGIN
-    EXECUTE IMMEDIATE 'DROP TABLE meal CASCADE CONSTRAINTS';
-EXCEPTION
-    WHEN OTHERS THEN IF SQLCODE != -0942 THEN RAISE; END IF;
-END;
-/
 CREATE TABLE meal
 (
     id NUMBER GENERATED BY DEFAULT AS IDENTITY NOT NULL
@@ -50,15 +32,10 @@ CREATE TABLE meal
             ON DELETE CASCADE
 )
 /
+
 CREATE INDEX meal_plan_id_idx ON meal (plan_id)
 /
 
-BEGIN
-    EXECUTE IMMEDIATE 'DROP TABLE recipe_instruction CASCADE CONSTRAINTS';
-EXCEPTION
-    WHEN OTHERS THEN IF SQLCODE != -0942 THEN RAISE; END IF;
-END;
-/
 CREATE TABLE recipe_instruction
 (
     id NUMBER GENERATED BY DEFAULT AS IDENTITY NOT NULL
@@ -71,15 +48,10 @@ CREATE TABLE recipe_instruction
     instruction VARCHAR(255) NOT NULL
 )
 /
+
 CREATE INDEX recipe_instruction_recipe_id_idx ON recipe_instruction (recipe_id)
 /
 
-BEGIN
-    EXECUTE IMMEDIATE 'DROP TABLE food_item CASCADE CONSTRAINTS';
-EXCEPTION
-    WHEN OTHERS THEN IF SQLCODE != -0942 THEN RAISE; END IF;
-END;
-/
 CREATE TABLE food_item
 (
     id NUMBER GENERATED BY DEFAULT AS IDENTITY NOT NULL
@@ -107,12 +79,6 @@ CREATE TABLE food_item
 )
 /
 
-BEGIN
-    EXECUTE IMMEDIATE 'DROP TABLE recipe_ingredient CASCADE CONSTRAINTS';
-EXCEPTION
-    WHEN OTHERS THEN IF SQLCODE != -0942 THEN RAISE; END IF;
-END;
-/
 CREATE TABLE recipe_ingredient
 (
     id NUMBER GENERATED BY DEFAULT AS IDENTITY NOT NULL
@@ -127,15 +93,10 @@ CREATE TABLE recipe_ingredient
         CHECK (quantity > 0)
 )
 /
+
 CREATE INDEX recipe_ingredient_recipe_id_idx ON recipe_ingredient (recipe_id)
 /
 
-BEGIN
-    EXECUTE IMMEDIATE 'DROP TABLE fridge_item CASCADE CONSTRAINTS';
-EXCEPTION
-    WHEN OTHERS THEN IF SQLCODE != -0942 THEN RAISE; END IF;
-END;
-/
 CREATE TABLE fridge_item
 (
     id NUMBER GENERATED BY DEFAULT AS IDENTITY NOT NULL
@@ -167,108 +128,3 @@ FROM recipe_needs rn
          LEFT JOIN fridge_stock fs ON rn.food_id = fs.food_id
 WHERE GREATEST(rn.needed_quantity - NVL(fs.available_quantity, 0), 0) > 0
 /
-
-INSERT INTO meal_plan
-VALUES (DEFAULT, 'Finals Week', DATE '2025-05-11')
-/
-
-INSERT INTO recipe
-VALUES (DEFAULT, 'Peanut Butter and Jelly Sandwich', 'Main Dish')
-/
-
-INSERT INTO food_item
-VALUES (DEFAULT, 'White Sandwich Bread', 'grains', 'slice', 77, 1000, NULL, 142, 14000, 800, 1600, 2600)
-/
-INSERT INTO recipe_ingredient
-VALUES (DEFAULT, 1, 1, 2)
-/
-INSERT INTO fridge_item
-VALUES (DEFAULT, 1, 26)
-/
-
-INSERT INTO food_item
-VALUES (DEFAULT, 'Peanut Butter', 'protein', 'tablespoon', 94, 8000, NULL, 76, 3900, 900, 1100, 3500)
-/
-INSERT INTO recipe_ingredient
-VALUES (DEFAULT, 1, 2, 2)
-/
-
-INSERT INTO food_item
-VALUES (DEFAULT, 'Grape Jelly', 'fruit', 'teaspoon', 19, NULL, NULL, 2, 500, 67, 367, NULL)
-/
-INSERT INTO recipe_ingredient
-VALUES (DEFAULT, 1, 3, 2)
-/
-
-INSERT INTO recipe_instruction
-VALUES (DEFAULT, 1, 1, 'Spread the peanut butter on one side of a slice of bread.')
-/
-INSERT INTO recipe_instruction
-VALUES (DEFAULT, 1, 2, 'Spread the grape jelly on one side of the other slice of bread.')
-/
-INSERT INTO recipe_instruction
-VALUES (DEFAULT, 1, 3, 'Put the two slices of bread together to form a sandwich.')
-/
-
-INSERT INTO meal
-VALUES (DEFAULT, 1, 1, 'lunch', 1)
-/
-
-INSERT INTO recipe
-VALUES (DEFAULT, 'Cheeseburger', 'Main Dish')
-/
-
-INSERT INTO food_item
-VALUES (DEFAULT, 'Hamburger Bun', 'grains', 'roll', 128, 1700, NULL, 230, 23000, 100, 2900, 4500)
-/
-INSERT INTO recipe_ingredient
-VALUES (DEFAULT, 2, 4, 2)
-/
-
-INSERT INTO food_item
-VALUES (DEFAULT, 'Beef', 'protein', 'ounce', 308, 20000, 101, 103, NULL, NULL, NULL, 31000)
-/
-INSERT INTO recipe_ingredient
-VALUES (DEFAULT, 2, 5, 4)
-/
-INSERT INTO fridge_item
-VALUES (DEFAULT, 5, 12)
-/
-
-INSERT INTO food_item
-VALUES (DEFAULT, 'Lettuce', 'vegetable', 'leaf', 16, 300, NULL, 7, 310, 2000, 1100, 1200)
-/
-INSERT INTO recipe_ingredient
-VALUES (DEFAULT, 2, 6, 2)
-/
-
-INSERT INTO food_item
-VALUES (DEFAULT, 'Cheese', 'dairy', 'slice', 113, 9300, 28, 183, 900, NULL, 100, 6400)
-/
-INSERT INTO recipe_ingredient
-VALUES (DEFAULT, 2, 7, 1)
-/
-
-INSERT INTO recipe_instruction
-VALUES (DEFAULT, 2, 1, 'Mold beef into shape of patty.')
-/
-INSERT INTO recipe_instruction
-VALUES (DEFAULT, 2, 2, 'Cook beef over oven for 25 minutes at 350 degrees.')
-/
-INSERT INTO recipe_instruction
-VALUES (DEFAULT, 2, 3, 'Put beef between two buns.')
-/
-INSERT INTO recipe_instruction
-VALUES (DEFAULT, 2, 4, 'Add cheese and lettuce on top.')
-/
-
-INSERT INTO meal
-VALUES (DEFAULT, 1, 2, 'breakfast', 1)
-/
-INSERT INTO meal
-VALUES (DEFAULT, 1, 2, 'dinner', 2)
-/
-
-INSERT INTO meal_plan
-VALUES (DEFAULT, 'Week After Finals', DATE '2025-05-18')
-/
\ No newline at end of file
@@ -0,0 +1,100 @@
+package MealPlanner;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public class ConnectionPoolTest {
+    private static final String URL = "jdbc:connection-pool-test:";
+
+    /**
+     * A driver opening connections that do nothing, so the pool can be tested without a database
+     */
+    private static class FakeDriver implements Driver {
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "isValid", "getAutoCommit" -> true;
+                        case "isClosed" -> false;
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> null;
+                    });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith(URL);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return Logger.getGlobal();
+        }
+    }
+
+    private final FakeDriver driver = new FakeDriver();
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DriverManager.registerDriver(driver);
+        pool = new ConnectionPool(URL, new Properties(), 0, 2, 1, 30_000, 300_000, 1_000, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        pool.close();
+        DriverManager.deregisterDriver(driver);
+    }
+
+    @Test
+    void closingTwiceReturnsTheConnectionOnce() throws SQLException {
+        PooledConnection connection = pool.borrow();
+        connection.close();
+        connection.close();
+        assertEquals(1, pool.getIdleCount());
+
+        try (PooledConnection first = pool.borrow(); PooledConnection second = pool.borrow()) {
+            assertNotSame(first.getConnection(), second.getConnection());
+            assertEquals(2, pool.getSize());
+        }
+        assertEquals(2, pool.getIdleCount());
+    }
+}
@@ -0,0 +1,48 @@
+package MealPlanner.Import;
+
+import MealPlanner.DatabaseHelper;
+import MealPlanner.Main;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FoodItemImporterTest {
+    @BeforeAll
+    static void connect() {
+        Main.commandLine = true; // report errors on the console instead of in dialogs
+        assertTrue(DatabaseHelper.connect() && DatabaseHelper.setup());
+    }
+
+    @AfterAll
+    static void disconnect() {
+        DatabaseHelper.disconnect();
+    }
+
+    @Test
+    void rejectsUnknownFoodGroupsAndOversizedNames() throws IOException {
+        Path file = Files.createTempFile("food", ".csv");
+        try {
+            Files.writeString(file, """
+                    name,food_group,unit,calories
+                    Importer Test Kiwi,Fruits,piece,42
+                    Importer Test Steak,meat,piece,300
+                    %s,dairy,cup,100
+                    """.formatted("x".repeat(256)));
+            FoodItemImporter.Result result = new FoodItemImporter().importFile(file);
+            assertNotNull(result);
+            assertEquals(3, result.read);
+            assertEquals(1, result.imported);
+            assertEquals(2, result.invalid);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
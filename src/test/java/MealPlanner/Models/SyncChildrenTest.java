@@ -0,0 +1,82 @@
+package MealPlanner.Models;
+
+import MealPlanner.DatabaseHelper;
+import MealPlanner.Main;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SyncChildrenTest {
+    @BeforeAll
+    static void connect() {
+        Main.commandLine = true; // report errors on the console instead of in dialogs
+        assertTrue(DatabaseHelper.connect() && DatabaseHelper.setup());
+    }
+
+    @AfterAll
+    static void disconnect() {
+        DatabaseHelper.disconnect();
+    }
+
+    private static RecipeInstruction newInstruction(Recipe recipe, int step, String text) {
+        RecipeInstruction instruction = new RecipeInstruction();
+        instruction.recipe_id = recipe.id;
+        instruction.step = step;
+        instruction.instruction = text;
+        return instruction;
+    }
+
+    private static RecipeInstruction[] selectInstructions(Recipe recipe) {
+        RecipeInstruction criteria = new RecipeInstruction();
+        criteria.recipe_id = recipe.id;
+        return criteria.select();
+    }
+
+    @Test
+    void failedSaveKeepsDeletedChildren() {
+        Recipe recipe = new Recipe();
+        recipe.name = "Pancakes";
+        assertTrue(recipe.insert());
+        RecipeInstruction mix = newInstruction(recipe, 1, "Mix");
+        RecipeInstruction fry = newInstruction(recipe, 2, "Fry");
+        assertTrue(Model.insertAll(List.of(mix, fry)));
+
+        // dropping "Fry" deletes it, then saving the oversized "Mix" and the new "Serve" fails
+        mix.instruction = "x".repeat(300);
+        RecipeInstruction serve = newInstruction(recipe, 2, "Serve");
+        assertFalse(Model.syncChildren(RecipeInstruction.class, "recipe_id", recipe.id, List.of(mix, serve)));
+        assertNull(serve.id);
+
+        RecipeInstruction[] stored = selectInstructions(recipe);
+        assertEquals(2, stored.length);
+        assertEquals("Mix", stored[0].instruction);
+        assertEquals("Fry", stored[1].instruction);
+    }
+
+    @Test
+    void successfulSyncReplacesChildren() {
+        Recipe recipe = new Recipe();
+        recipe.name = "Toast";
+        assertTrue(recipe.insert());
+        RecipeInstruction slice = newInstruction(recipe, 1, "Slice");
+        RecipeInstruction burn = newInstruction(recipe, 2, "Burn");
+        assertTrue(Model.insertAll(List.of(slice, burn)));
+
+        slice.instruction = "Slice the bread";
+        RecipeInstruction toast = newInstruction(recipe, 2, "Toast");
+        assertTrue(Model.syncChildren(RecipeInstruction.class, "recipe_id", recipe.id, List.of(slice, toast)));
+
+        RecipeInstruction[] stored = selectInstructions(recipe);
+        assertEquals(2, stored.length);
+        assertEquals("Slice the bread", stored[0].instruction);
+        assertEquals("Toast", stored[1].instruction);
+        assertEquals(toast.id.longValue(), stored[1].id.longValue());
+    }
+}
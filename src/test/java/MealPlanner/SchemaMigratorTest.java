@@ -0,0 +1,39 @@
+package MealPlanner;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SchemaMigratorTest {
+    @BeforeAll
+    static void connect() {
+        Main.commandLine = true; // report errors on the console instead of in dialogs
+        assertTrue(DatabaseHelper.connect());
+    }
+
+    @AfterAll
+    static void disconnect() {
+        DatabaseHelper.disconnect();
+    }
+
+    @Test
+    void migratingAgainFindsTheVersionTable() throws SQLException {
+        assertTrue(SchemaMigrator.migrate());
+        assertTrue(SchemaMigrator.migrate());
+
+        try (PooledConnection connection = DatabaseHelper.getConnection();
+             PreparedStatement statement = DatabaseHelper.prepareStatement(connection,
+                     "SELECT COUNT(*) FROM %s".formatted(SchemaMigrator.VERSION_TABLE));
+             ResultSet resultSet = statement.executeQuery()) {
+            assertTrue(resultSet.next());
+            assertEquals(SchemaMigrator.getLatestVersion(), resultSet.getInt(1));
+        }
+    }
+}